@@ -31,10 +31,25 @@ public final class Features {
   private static final Feature BUILDCONSUMER =
       new Feature("maven.experimental.buildconsumer", "true");
 
+  private static final Feature LAZYREPORTING =
+      new Feature("maven.experimental.lazyreporting", "false");
+
   public static Feature buildConsumer() {
     return BUILDCONSUMER;
   }
 
+  /**
+   * Defers the conversion of the <code>&lt;reporting&gt;</code> section into site plugin
+   * configuration, and the expansion of report plugin configuration into report sets, until the
+   * resulting configuration is first accessed, unless the model building listener requires it
+   * right away.
+   *
+   * @return the lazy reporting feature, never {@code null}
+   */
+  public static Feature lazyReporting() {
+    return LAZYREPORTING;
+  }
+
   /**
    * Represents some feature
    *
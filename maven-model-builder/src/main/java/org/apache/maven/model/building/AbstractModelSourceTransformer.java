@@ -19,17 +19,16 @@ package org.apache.maven.model.building;
  * under the License.
  */
 
-import java.io.FilterInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
@@ -41,27 +40,74 @@ import javax.xml.transform.stream.StreamResult;
 import org.apache.maven.xml.Factories;
 import org.apache.maven.xml.sax.ext.CommentRenormalizer;
 import org.apache.maven.xml.sax.filter.AbstractSAXFilter;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
 import org.xml.sax.ext.LexicalHandler;
 
 /**
- * Offers a transformation implementation based on PipelineStreams. Subclasses are responsible for
+ * Offers a transformation implementation that runs the SAX filter chain on the calling thread, with
+ * a transformer reused by that thread, and buffers the result in memory. POMs the filter would not
+ * change are returned as they are, the transformed ones are cached for as long as their content and
+ * the answers of the {@link TransformerContext} stay the same. Subclasses are responsible for
  * providing the right SAXFilter.
  *
  * @author Robert Scholte
  * @since 3.7.0
  */
 public abstract class AbstractModelSourceTransformer implements ModelSourceTransformer {
-  private static final AtomicInteger TRANSFORM_THREAD_COUNTER = new AtomicInteger();
+  /** Room for a few rewritten elements, the transformed POM is usually as large as the original. */
+  private static final int BUFFER_SLACK = 1024;
+
+  private static final int MAX_INITIAL_BUFFER_SIZE = 16 * 1024 * 1024;
 
   private final TransformerFactory transformerFactory = Factories.newTransformerFactory();
 
+  /** The transformer of each thread that is ready to be used again. */
+  private final ThreadLocal<Transformer> transformers = new ThreadLocal<>();
+
+  private final TransformedPomCache cache = new TransformedPomCache();
+
+  private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
+
+  private static final ErrorHandler ERROR_HANDLER =
+      new ErrorHandler() {
+        @Override
+        public void warning(SAXParseException exception) throws SAXException {
+          throw exception;
+        }
+
+        @Override
+        public void fatalError(SAXParseException exception) throws SAXException {
+          throw exception;
+        }
+
+        @Override
+        public void error(SAXParseException exception) throws SAXException {
+          throw exception;
+        }
+      };
+
   protected abstract AbstractSAXFilter getSAXFilter(
       Path pomFile, TransformerContext context, Consumer<LexicalHandler> lexicalHandlerConsumer)
       throws TransformerConfigurationException, SAXException, ParserConfigurationException;
 
+  /**
+   * Tells whether the SAX filter may change the POM. If not, the POM is returned as is, without
+   * parsing and serializing it.
+   *
+   * @param pomFile the POM
+   * @param context the context of the transformation
+   * @param content the bytes of the POM
+   * @return {@code false} if the transformation is known to be the identity, otherwise {@code true}
+   * @since 4.0.0
+   */
+  protected boolean mayTransform(Path pomFile, TransformerContext context, byte[] content) {
+    return true;
+  }
+
   protected OutputStream filterOutputStream(OutputStream outputStream, Path pomFile) {
     return outputStream;
   }
@@ -78,10 +124,33 @@ public abstract class AbstractModelSourceTransformer implements ModelSourceTrans
   @Override
   public final InputStream transform(Path pomFile, TransformerContext context)
       throws IOException, org.apache.maven.model.building.TransformerException {
+    final Path cacheKey = pomFile.toAbsolutePath().normalize();
+    final byte[] content = Files.readAllBytes(pomFile);
+    if (!mayTransform(pomFile, context, content)) {
+      try (OutputStream out = filterOutputStream(OutputStream.nullOutputStream(), pomFile)) {
+        out.write(content);
+      }
+      return new ByteArrayInputStream(content);
+    }
+
+    final String contentHash = ContentHash.of(content);
+
+    InputStream cached = cache.get(cacheKey, contentHash, context);
+    if (cached != null) {
+      // the output filters still see every transformed POM
+      try (OutputStream out = filterOutputStream(OutputStream.nullOutputStream(), pomFile)) {
+        cached.transferTo(out);
+      }
+      cached.reset();
+      return cached;
+    }
+
+    final TransformedPomCache.Recorder recorder = new TransformedPomCache.Recorder(context);
     final TransformerHandler transformerHandler = getTransformerHandler(pomFile);
 
-    final PipedOutputStream pout = new PipedOutputStream();
-    OutputStream out = filterOutputStream(pout, pomFile);
+    final TransformOutputStream buffer =
+        new TransformOutputStream(Math.min(content.length + BUFFER_SLACK, MAX_INITIAL_BUFFER_SIZE));
+    OutputStream out = filterOutputStream(buffer, pomFile);
 
     final javax.xml.transform.Result result;
     final Consumer<LexicalHandler> lexConsumer;
@@ -94,102 +163,107 @@ public abstract class AbstractModelSourceTransformer implements ModelSourceTrans
       transformerHandler.setResult(new StreamResult(out));
     }
 
-    final AbstractSAXFilter filter;
-    try {
-      filter = getSAXFilter(pomFile, context, lexConsumer);
-      filter.setLexicalHandler(transformerHandler);
-      // By default errors are written to stderr.
-      // Hence set custom errorHandler to reduce noice
-      filter.setErrorHandler(
-          new ErrorHandler() {
-            @Override
-            public void warning(SAXParseException exception) throws SAXException {
-              throw exception;
-            }
-
-            @Override
-            public void fatalError(SAXParseException exception) throws SAXException {
-              throw exception;
-            }
-
-            @Override
-            public void error(SAXParseException exception) throws SAXException {
-              throw exception;
-            }
-          });
-    } catch (TransformerConfigurationException | SAXException | ParserConfigurationException e) {
+    final AbstractSAXFilter filter = newFilter(pomFile, recorder, lexConsumer, transformerHandler);
+
+    try (InputStream in = new ByteArrayInputStream(content)) {
+      SAXSource transformSource = new SAXSource(filter, new org.xml.sax.InputSource(in));
+      Transformer transformer = getTransformer();
+      try {
+        transformer.transform(transformSource, result);
+      } finally {
+        // the reset drops the references to the source and result
+        transformer.reset();
+        transformers.set(transformer);
+      }
+      out.flush();
+    } catch (TransformerException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
       throw new org.apache.maven.model.building.TransformerException(e);
     }
 
-    final SAXSource transformSource =
-        new SAXSource(filter, new org.xml.sax.InputSource(Files.newInputStream(pomFile)));
-
-    IOExceptionHandler eh = new IOExceptionHandler();
-
-    // Ensure pipedStreams are connected before the transformThread starts!!
-    final PipedInputStream pipedInputStream = new PipedInputStream(pout);
-
-    Thread transformThread =
-        new Thread(
-            () -> {
-              try (PipedOutputStream pos = pout) {
-                transformerFactory.newTransformer().transform(transformSource, result);
-              } catch (TransformerException | IOException e) {
-                eh.uncaughtException(Thread.currentThread(), e);
-              }
-            },
-            "TransformThread-" + TRANSFORM_THREAD_COUNTER.incrementAndGet());
-    transformThread.setUncaughtExceptionHandler(eh);
-    transformThread.setDaemon(true);
-    transformThread.start();
-
-    return new ThreadAwareInputStream(pipedInputStream, eh);
+    buffer.putInto(cache, cacheKey, contentHash, recorder);
+    return buffer.toInputStream();
   }
 
-  private static class IOExceptionHandler
-      implements Thread.UncaughtExceptionHandler, AutoCloseable {
-    private volatile Throwable cause;
+  /**
+   * Passes the POM to the handler without serializing it, if the filter would not change it. The
+   * other POMs go through the cache of {@link #transform(Path, TransformerContext)}, so that only
+   * their first read runs the filter and serializes the result, the later ones just parse the
+   * cached bytes.
+   */
+  @Override
+  public void transform(Path pomFile, TransformerContext context, ContentHandler handler)
+      throws IOException, org.apache.maven.model.building.TransformerException {
+    final byte[] content = Files.readAllBytes(pomFile);
+    // output filters need to see the POM
+    OutputStream probe = OutputStream.nullOutputStream();
+    if (mayTransform(pomFile, context, content) || filterOutputStream(probe, pomFile) != probe) {
+      ModelSourceTransformer.super.transform(pomFile, context, handler);
+      return;
+    }
 
-    @Override
-    public void uncaughtException(Thread t, Throwable e) {
-      try {
-        throw e;
-      } catch (TransformerException | IOException | RuntimeException | Error allGood) {
-        // all good
-        this.cause = e;
-      } catch (Throwable notGood) {
-        throw new AssertionError("Unexpected Exception", e);
+    try {
+      XMLReader reader = Factories.getXMLReader();
+      reader.setErrorHandler(ERROR_HANDLER);
+      if (handler instanceof LexicalHandler) {
+        reader.setProperty(LEXICAL_HANDLER, handler);
       }
+      reader.setContentHandler(handler);
+      reader.parse(new org.xml.sax.InputSource(new ByteArrayInputStream(content)));
+    } catch (SAXException | ParserConfigurationException e) {
+      throw new org.apache.maven.model.building.TransformerException(e);
     }
+  }
 
-    @Override
-    public void close() throws IOException {
-      if (cause != null) {
-        try {
-          throw cause;
-        } catch (IOException | RuntimeException | Error e) {
-          throw e;
-        } catch (Throwable t) {
-          // Any checked exception
-          throw new RuntimeException("Failed to transform pom", t);
-        }
-      }
+  private AbstractSAXFilter newFilter(
+      Path pomFile,
+      TransformerContext context,
+      Consumer<LexicalHandler> lexConsumer,
+      LexicalHandler lexicalHandler)
+      throws org.apache.maven.model.building.TransformerException {
+    try {
+      AbstractSAXFilter filter = getSAXFilter(pomFile, context, lexConsumer);
+      filter.setLexicalHandler(lexicalHandler);
+      // By default errors are written to stderr.
+      // Hence set custom errorHandler to reduce noice
+      filter.setErrorHandler(ERROR_HANDLER);
+      return filter;
+    } catch (TransformerConfigurationException | SAXException | ParserConfigurationException e) {
+      throw new org.apache.maven.model.building.TransformerException(e);
     }
   }
 
-  private class ThreadAwareInputStream extends FilterInputStream {
-    final IOExceptionHandler h;
+  /**
+   * Gets the transformer of the calling thread or a new one, if it is in use by an enclosing
+   * transformation, e.g. one reading a raw model.
+   */
+  private Transformer getTransformer() throws TransformerConfigurationException {
+    Transformer transformer = transformers.get();
+    if (transformer == null) {
+      return transformerFactory.newTransformer();
+    }
+    transformers.remove();
+    return transformer;
+  }
 
-    protected ThreadAwareInputStream(InputStream in, IOExceptionHandler h) {
-      super(in);
-      this.h = h;
+  /** Collects the transformed POM and hands out its bytes without copying them. */
+  private static class TransformOutputStream extends ByteArrayOutputStream {
+    TransformOutputStream(int size) {
+      super(size);
     }
 
-    @Override
-    public void close() throws IOException {
-      try (IOExceptionHandler eh = h) {
-        super.close();
-      }
+    void putInto(
+        TransformedPomCache cache,
+        Path pomFile,
+        String contentHash,
+        TransformedPomCache.Recorder recorder) {
+      cache.put(pomFile, contentHash, recorder, buf, count);
+    }
+
+    InputStream toInputStream() {
+      return new ByteArrayInputStream(buf, 0, count);
     }
   }
 }
@@ -53,7 +53,12 @@ class BuildModelSourceTransformer extends AbstractModelSourceTransformer {
     BuildPomXMLFilterFactory buildPomXMLFilterFactory =
         new DefaultBuildPomXMLFilterFactory(context, lexicalHandlerConsumer);
 
-    return buildPomXMLFilterFactory.get(pomFile);
+    return buildPomXMLFilterFactory.getFused(pomFile);
+  }
+
+  @Override
+  protected boolean mayTransform(Path pomFile, TransformerContext context, byte[] content) {
+    return new DefaultBuildPomXMLFilterFactory(context, null).mayRewrite(content);
   }
 
   @Override
@@ -0,0 +1,123 @@
+package org.apache.maven.model.building;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.apache.maven.building.Source;
+
+/**
+ * Computes the hashes identifying POM contents independently of their location, see {@link
+ * ModelSource2#getContentHash()}.
+ */
+final class ContentHash {
+
+  private static final String ALGORITHM = "SHA-1";
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /** Whether a class of model sources overrides {@link ModelSource2#getContentHash()}. */
+  private static final ClassValue<Boolean> PROVIDES_HASH =
+      new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          try {
+            return type.getMethod("getContentHash").getDeclaringClass() != ModelSource2.class;
+          } catch (NoSuchMethodException e) {
+            return false;
+          }
+        }
+      };
+
+  private ContentHash() {}
+
+  /**
+   * Tells whether the specified source computes its content hash itself, e.g. from a checksum,
+   * rather than hashing its input stream like the default implementation does.
+   *
+   * @param source The source to check, must not be {@code null}.
+   * @return {@code true} if the source provides its own content hash.
+   */
+  static boolean isProvidedBy(Source source) {
+    return source instanceof ModelSource2 && PROVIDES_HASH.get(source.getClass());
+  }
+
+  /**
+   * Gets the content hash of the specified source, either as provided by a {@link ModelSource2} or
+   * by hashing its input stream.
+   *
+   * @param source The source to hash, must not be {@code null}.
+   * @return The content hash or {@code null} if the source provides none.
+   * @throws IOException If the content could not be read.
+   */
+  static String of(Source source) throws IOException {
+    if (source instanceof ModelSource2) {
+      return ((ModelSource2) source).getContentHash();
+    }
+    return of(source.getInputStream());
+  }
+
+  /**
+   * Hashes the remaining bytes of the specified stream and closes it.
+   *
+   * @param stream The stream to hash, must not be {@code null}.
+   * @return The hex encoded hash, never {@code null}.
+   * @throws IOException If the stream could not be read.
+   */
+  static String of(InputStream stream) throws IOException {
+    MessageDigest digest = newDigest();
+    try (InputStream in = stream) {
+      byte[] buffer = new byte[8192];
+      for (int n; (n = in.read(buffer)) >= 0; ) {
+        digest.update(buffer, 0, n);
+      }
+    }
+    return toHex(digest.digest());
+  }
+
+  /**
+   * Hashes the specified bytes.
+   *
+   * @param bytes The bytes to hash, must not be {@code null}.
+   * @return The hex encoded hash, never {@code null}.
+   */
+  static String of(byte[] bytes) {
+    return toHex(newDigest().digest(bytes));
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(ALGORITHM + " is not supported", e);
+    }
+  }
+
+  private static String toHex(byte[] hash) {
+    char[] hex = new char[hash.length * 2];
+    for (int i = 0; i < hash.length; i++) {
+      hex[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+      hex[i * 2 + 1] = HEX[hash[i] & 0xF];
+    }
+    return new String(hex);
+  }
+}
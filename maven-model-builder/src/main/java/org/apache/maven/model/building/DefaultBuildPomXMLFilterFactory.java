@@ -24,7 +24,6 @@ import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import org.apache.maven.model.Model;
 import org.apache.maven.xml.sax.filter.BuildPomXMLFilterFactory;
 import org.apache.maven.xml.sax.filter.RelativeProject;
 import org.xml.sax.ext.LexicalHandler;
@@ -48,35 +47,11 @@ public class DefaultBuildPomXMLFilterFactory extends BuildPomXMLFilterFactory {
 
   @Override
   protected Function<Path, Optional<RelativeProject>> getRelativePathMapper() {
-    return p -> Optional.ofNullable(context.getRawModel(p)).map(m -> toRelativeProject(m));
+    return p -> Optional.ofNullable(context.getRelativeProject(p));
   }
 
   @Override
   protected BiFunction<String, String, String> getDependencyKeyToVersionMapper() {
-    return (g, a) ->
-        Optional.ofNullable(context.getRawModel(g, a)).map(m -> toVersion(m)).orElse(null);
-  }
-
-  private static RelativeProject toRelativeProject(final Model m) {
-    String groupId = m.getGroupId();
-    if (groupId == null && m.getParent() != null) {
-      groupId = m.getParent().getGroupId();
-    }
-
-    String version = m.getVersion();
-    if (version == null && m.getParent() != null) {
-      version = m.getParent().getVersion();
-    }
-
-    return new RelativeProject(groupId, m.getArtifactId(), version);
-  }
-
-  private static String toVersion(final Model m) {
-    String version = m.getVersion();
-    if (version == null && m.getParent() != null) {
-      version = m.getParent().getVersion();
-    }
-
-    return version;
+    return context::getReactorVersion;
   }
 }
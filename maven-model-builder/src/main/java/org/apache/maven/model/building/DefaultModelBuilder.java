@@ -22,8 +22,10 @@ package org.apache.maven.model.building;
 import static org.apache.maven.model.building.Result.error;
 import static org.apache.maven.model.building.Result.newResult;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -287,15 +289,13 @@ public class DefaultModelBuilder implements ModelBuilder {
       injectProfileActivations(tmpModel, interpolatedActivations);
 
       // profile injection
-      for (Profile activeProfile : activePomProfiles) {
-        profileInjector.injectProfile(tmpModel, activeProfile, request, problems);
-      }
-
-      if (currentData == resultData) {
-        for (Profile activeProfile : activeExternalProfiles) {
-          profileInjector.injectProfile(tmpModel, activeProfile, request, problems);
-        }
+      List<Profile> activeProfiles = activePomProfiles;
+      if (currentData == resultData && !activeExternalProfiles.isEmpty()) {
+        activeProfiles = new ArrayList<>(activePomProfiles.size() + activeExternalProfiles.size());
+        activeProfiles.addAll(activePomProfiles);
+        activeProfiles.addAll(activeExternalProfiles);
       }
+      profileInjector.injectProfiles(tmpModel, activeProfiles, request, problems);
 
       if (currentData == superData) {
         break;
@@ -510,10 +510,19 @@ public class DefaultModelBuilder implements ModelBuilder {
       boolean strict =
           request.getValidationLevel() >= ModelBuildingRequest.VALIDATION_LEVEL_MAVEN_2_0;
 
-      Map<String, Object> options = new HashMap<>(3);
+      Map<String, Object> options = new HashMap<>(4);
       options.put(ModelProcessor.IS_STRICT, strict);
       options.put(ModelProcessor.SOURCE, modelSource);
 
+      // parse once leniently and let the reader tell what a strict parse would have rejected
+      List<ModelParseException> strictViolations;
+      if (strict) {
+        strictViolations = new ArrayList<>();
+        options.put(ModelProcessor.STRICT_VIOLATIONS, strictViolations);
+      } else {
+        strictViolations = null;
+      }
+
       InputSource source;
       if (request.isLocationTracking()) {
         source =
@@ -523,33 +532,67 @@ public class DefaultModelBuilder implements ModelBuilder {
         source = null;
       }
 
-      try {
-        model = modelProcessor.read(modelSource.getInputStream(), options);
-      } catch (ModelParseException e) {
-        if (!strict) {
-          throw e;
+      // identical documents located through different sources are parsed only once, unless the
+      // locations of the model must refer to the source it was read from
+      String contentHash = null;
+      byte[] content = null;
+      if (pomFile == null && source == null && request.getModelCache() != null) {
+        if (ContentHash.isProvidedBy(modelSource)) {
+          contentHash = getContentHash((ModelSource2) modelSource);
+        } else {
+          // read the source only once, to hash and to parse it
+          try (InputStream in = modelSource.getInputStream()) {
+            content = in.readAllBytes();
+          }
+          contentHash = ContentHash.of(content);
         }
+      }
+      model = fromContentCache(request.getModelCache(), contentHash, ModelCacheTag.PARSED);
 
-        options.put(ModelProcessor.IS_STRICT, Boolean.FALSE);
-
+      ModelParseException strictError = null;
+      if (model == null) {
         try {
-          model = modelProcessor.read(modelSource.getInputStream(), options);
-        } catch (ModelParseException ne) {
-          // still unreadable even in non-strict mode, rethrow original error
-          throw e;
+          model = readModel(modelSource, content, options);
+        } catch (ModelParseException e) {
+          if (!strict) {
+            throw e;
+          }
+          if (!strictViolations.isEmpty()) {
+            // unreadable even in non-strict mode, report the first error of the strict parse
+            throw strictViolations.get(0);
+          }
+
+          // a processor honouring the violations option would have added the error, so it parsed
+          // strictly, retry leniently
+          options.remove(ModelProcessor.STRICT_VIOLATIONS);
+          options.put(ModelProcessor.IS_STRICT, Boolean.FALSE);
+
+          try {
+            model = readModel(modelSource, content, options);
+          } catch (ModelParseException ne) {
+            // still unreadable even in non-strict mode, rethrow original error
+            throw e;
+          }
+
+          strictError = e;
         }
 
-        if (pomFile != null) {
-          problems.add(
-              new ModelProblemCollectorRequest(Severity.ERROR, Version.V20)
-                  .setMessage("Malformed POM " + modelSource.getLocation() + ": " + e.getMessage())
-                  .setException(e));
-        } else {
-          problems.add(
-              new ModelProblemCollectorRequest(Severity.WARNING, Version.V20)
-                  .setMessage("Malformed POM " + modelSource.getLocation() + ": " + e.getMessage())
-                  .setException(e));
+        if (strictError == null && strictViolations != null && !strictViolations.isEmpty()) {
+          strictError = strictViolations.get(0);
         }
+        if (strictError == null && strict && contentHash != null) {
+          // only a clean strict parse yields the model of both strict and lenient reads
+          intoContentCache(request.getModelCache(), contentHash, ModelCacheTag.PARSED, model);
+        }
+      }
+
+      if (strictError != null) {
+        problems.add(
+            new ModelProblemCollectorRequest(
+                    pomFile != null ? Severity.ERROR : Severity.WARNING, Version.V20)
+                .setMessage(
+                    "Malformed POM " + modelSource.getLocation() + ": " + strictError.getMessage())
+                .setException(strictError));
       }
 
       if (source != null) {
@@ -627,6 +670,45 @@ public class DefaultModelBuilder implements ModelBuilder {
     return model;
   }
 
+  @SuppressWarnings("deprecation")
+  private Model readModel(ModelSource modelSource, byte[] content, Map<String, Object> options)
+      throws IOException {
+    if (content != null) {
+      return modelProcessor.read(new ByteArrayInputStream(content), options);
+    } else if (FileModelSource.class.equals(modelSource.getClass())) {
+      // lets the processor read the file directly instead of sniffing the encoding of a stream,
+      // subclasses may provide a different stream
+      return modelProcessor.read(((FileModelSource) modelSource).getFile(), options);
+    }
+    return modelProcessor.read(modelSource.getInputStream(), options);
+  }
+
+  private String getContentHash(ModelSource2 modelSource) {
+    try {
+      return modelSource.getContentHash();
+    } catch (IOException e) {
+      // the parse will report the source as non-readable
+      return null;
+    }
+  }
+
+  private <T> T fromContentCache(ModelCache modelCache, String contentHash, ModelCacheTag<T> tag) {
+    if (modelCache != null && contentHash != null) {
+      Object data = modelCache.getByContentHash(contentHash, tag.getName());
+      if (data != null) {
+        return tag.fromCache(tag.getType().cast(data));
+      }
+    }
+    return null;
+  }
+
+  private <T> void intoContentCache(
+      ModelCache modelCache, String contentHash, ModelCacheTag<T> tag, T data) {
+    if (modelCache != null) {
+      modelCache.putByContentHash(contentHash, tag.getName(), tag.intoCache(data));
+    }
+  }
+
   private Model getModelFromCache(ModelSource modelSource, ModelCache cache) {
     Model model;
     if (modelSource instanceof ArtifactModelSource) {
@@ -845,7 +927,7 @@ public class DefaultModelBuilder implements ModelBuilder {
     Parent parent = childModel.getParent();
 
     if (parent != null) {
-      ModelSource expectedParentSource = getParentPomFile(childModel, childSource);
+      ModelSource expectedParentSource = getParentPomFile(childModel, childSource, request);
 
       if (expectedParentSource != null) {
         ModelData candidateData = readParentLocally(childModel, childSource, request, problems);
@@ -928,7 +1010,7 @@ public class DefaultModelBuilder implements ModelBuilder {
     final Model candidateModel;
     final WorkspaceModelResolver resolver = request.getWorkspaceModelResolver();
     if (resolver == null) {
-      candidateSource = getParentPomFile(childModel, childSource);
+      candidateSource = getParentPomFile(childModel, childSource, request);
 
       if (candidateSource == null) {
         return null;
@@ -1047,7 +1129,8 @@ public class DefaultModelBuilder implements ModelBuilder {
     return parentData;
   }
 
-  private ModelSource getParentPomFile(Model childModel, ModelSource source) {
+  private ModelSource getParentPomFile(
+      Model childModel, ModelSource source, ModelBuildingRequest request) {
     if (!(source instanceof ModelSource2)) {
       return null;
     }
@@ -1058,6 +1141,10 @@ public class DefaultModelBuilder implements ModelBuilder {
       return null;
     }
 
+    if (FileModelSource.class.equals(source.getClass())) {
+      // subclasses may resolve related sources differently
+      return ((FileModelSource) source).getRelatedSource(parentPath, request.getPomPathCache());
+    }
     return ((ModelSource2) source).getRelatedSource(parentPath);
   }
 
@@ -73,6 +73,8 @@ public class DefaultModelBuildingRequest implements ModelBuildingRequest {
 
   private TransformerContext context;
 
+  private PomPathCache pomPathCache;
+
   /** Creates an empty request. */
   public DefaultModelBuildingRequest() {}
 
@@ -96,6 +98,7 @@ public class DefaultModelBuildingRequest implements ModelBuildingRequest {
     setModelResolver(request.getModelResolver());
     setModelBuildingListener(request.getModelBuildingListener());
     setModelCache(request.getModelCache());
+    setPomPathCache(request.getPomPathCache());
   }
 
   @Override
@@ -371,4 +374,15 @@ public class DefaultModelBuildingRequest implements ModelBuildingRequest {
     this.context = context;
     return this;
   }
+
+  @Override
+  public PomPathCache getPomPathCache() {
+    return pomPathCache;
+  }
+
+  @Override
+  public DefaultModelBuildingRequest setPomPathCache(PomPathCache pomPathCache) {
+    this.pomPathCache = pomPathCache;
+    return this;
+  }
 }
@@ -50,20 +50,27 @@ public class FileModelSource extends FileSource implements ModelSource2 {
 
   @Override
   public ModelSource2 getRelatedSource(String relPath) {
-    relPath = relPath.replace('\\', File.separatorChar).replace('/', File.separatorChar);
-
-    File relatedPom = new File(getFile().getParentFile(), relPath);
-
-    if (relatedPom.isDirectory()) {
-      // TODO figure out how to reuse ModelLocator.locatePom(File) here
-      relatedPom = new File(relatedPom, "pom.xml");
-    }
+    return getRelatedSource(relPath, null);
+  }
 
-    if (relatedPom.isFile() && relatedPom.canRead()) {
-      return new FileModelSource(new File(relatedPom.toURI().normalize()));
-    }
+  /**
+   * Returns model source identified by a path relative to this model source POM, resolving the path
+   * through the specified cache.
+   *
+   * @param relPath is the path of the requested model source relative to this model source POM.
+   * @param pathCache the cache of resolved POM paths, may be <code>null</code>.
+   * @return related model source or <code>null</code> if no such model source.
+   * @see #getRelatedSource(String)
+   * @since 4.0.0
+   */
+  public ModelSource2 getRelatedSource(String relPath, PomPathCache pathCache) {
+    File basedir = getFile().getParentFile();
+    File relatedPom =
+        pathCache != null
+            ? pathCache.getRelatedPom(basedir, relPath)
+            : PomPathCache.getRelatedPomUncached(basedir, relPath);
 
-    return null;
+    return relatedPom != null ? new FileModelSource(relatedPom) : null;
   }
 
   @Override
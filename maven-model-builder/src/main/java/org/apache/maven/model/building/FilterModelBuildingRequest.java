@@ -266,4 +266,15 @@ class FilterModelBuildingRequest implements ModelBuildingRequest {
     request.setTransformerContext(context);
     return this;
   }
+
+  @Override
+  public PomPathCache getPomPathCache() {
+    return request.getPomPathCache();
+  }
+
+  @Override
+  public FilterModelBuildingRequest setPomPathCache(PomPathCache pomPathCache) {
+    request.setPomPathCache(pomPathCache);
+    return this;
+  }
 }
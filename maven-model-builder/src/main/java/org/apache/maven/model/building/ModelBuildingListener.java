@@ -37,4 +37,18 @@ public interface ModelBuildingListener {
    * @param event The details about the event.
    */
   void buildExtensionsAssembled(ModelBuildingEvent event);
+
+  /**
+   * Tells whether the listener needs the configuration derived from the reporting section of the
+   * model, i.e. the report plugins of the site plugin and the configuration of the report sets,
+   * right away. If not, this configuration is only computed on first access when the lazy reporting
+   * feature is active.
+   *
+   * @return {@code true} to compute the reporting configuration while building the model, {@code
+   *     false} if it may be computed on first access.
+   * @since 4.0.0
+   */
+  default boolean isReportingRequired() {
+    return false;
+  }
 }
@@ -353,4 +353,24 @@ public interface ModelBuildingRequest {
   TransformerContext getTransformerContext();
 
   ModelBuildingRequest setTransformerContext(TransformerContext context);
+
+  /**
+   * Gets the cache used to resolve the relative paths of parent POMs.
+   *
+   * @return The POM path cache or {@code null} if not set.
+   * @since 4.0.0
+   */
+  PomPathCache getPomPathCache();
+
+  /**
+   * Sets the cache used to resolve the relative paths of parent POMs. This is an optional component
+   * that serves performance optimizations, it should be shared by all requests of a reactor. The
+   * model builder itself never creates one, the caller building the projects of a reactor (e.g. the
+   * project builder) is expected to create one per build and set it on each request.
+   *
+   * @param pomPathCache The POM path cache to use, may be {@code null}.
+   * @return This request, never {@code null}.
+   * @since 4.0.0
+   */
+  ModelBuildingRequest setPomPathCache(PomPathCache pomPathCache);
 }
@@ -57,6 +57,34 @@ public interface ModelCache {
     return null;
   }
 
+  /**
+   * Puts the specified data into the cache.
+   *
+   * @param contentHash The content hash of the POM the data was obtained from, must not be {@code
+   *     null}.
+   * @param tag The tag of the cache record, must not be {@code null}.
+   * @param data The data to store in the cache, must not be {@code null}.
+   * @see ModelSource2#getContentHash()
+   * @since 4.0.0
+   */
+  default void putByContentHash(String contentHash, String tag, Object data) {
+    // optional, parsing is only deduplicated by caches that support it
+  }
+
+  /**
+   * Gets the specified data from the cache.
+   *
+   * @param contentHash The content hash of the POM the data was obtained from, must not be {@code
+   *     null}.
+   * @param tag The tag of the cache record, must not be {@code null}.
+   * @return The requested data or {@code null} if none was present in the cache.
+   * @see ModelSource2#getContentHash()
+   * @since 4.0.0
+   */
+  default Object getByContentHash(String contentHash, String tag) {
+    return null;
+  }
+
   /**
    * Puts the specified data into the cache.
    *
@@ -118,6 +118,30 @@ interface ModelCacheTag<T> {
         }
       };
 
+  /** The tag used to denote a model parsed from a POM without violations of strict parsing. */
+  ModelCacheTag<Model> PARSED =
+      new ModelCacheTag<Model>() {
+        @Override
+        public String getName() {
+          return "parsed";
+        }
+
+        @Override
+        public Class<Model> getType() {
+          return Model.class;
+        }
+
+        @Override
+        public Model intoCache(Model data) {
+          return (data != null) ? data.clone() : null;
+        }
+
+        @Override
+        public Model fromCache(Model data) {
+          return intoCache(data);
+        }
+      };
+
   ModelCacheTag<Model> FILEMODEL =
       new ModelCacheTag<Model>() {
         @Override
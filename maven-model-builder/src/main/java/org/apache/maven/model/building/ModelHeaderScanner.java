@@ -0,0 +1,160 @@
+package org.apache.maven.model.building;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.ModelReader;
+
+/**
+ * Discovers the projects of a reactor by walking the module hierarchy from a root directory. Each
+ * POM is located with {@link ModelProcessor#locatePom(File)} and only its header is read (see
+ * {@link ModelReader#HEADER_ONLY}), the modules of a project are scanned in parallel.
+ *
+ * @since 4.0.0
+ */
+public class ModelHeaderScanner {
+
+  private final ModelProcessor modelProcessor;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates a scanner that uses a pool of its own, bounded by the number of processors, instead of
+   * the common pool, since the scan blocks on reading files.
+   */
+  public ModelHeaderScanner(ModelProcessor modelProcessor) {
+    this(modelProcessor, DefaultPool.INSTANCE);
+  }
+
+  public ModelHeaderScanner(ModelProcessor modelProcessor, ForkJoinPool pool) {
+    this.modelProcessor = Objects.requireNonNull(modelProcessor, "modelProcessor cannot be null");
+    this.pool = Objects.requireNonNull(pool, "pool cannot be null");
+  }
+
+  /**
+   * Scans the project in the specified directory and all its modules, recursively. Modules whose
+   * POM does not exist are silently skipped, each POM is read at most once.
+   *
+   * @param projectDirectory The base directory of the root project, must not be {@code null}.
+   * @return The header models keyed by their POM file in depth-first declaration order, never
+   *     {@code null}.
+   * @throws IOException If a POM could not be read or parsed.
+   */
+  public Map<File, Model> scan(File projectDirectory) throws IOException {
+    Objects.requireNonNull(projectDirectory, "projectDirectory cannot be null");
+
+    File pomFile = modelProcessor.locatePom(projectDirectory);
+    Set<File> visited = ConcurrentHashMap.newKeySet();
+    try {
+      return pool.invoke(new ScanTask(pomFile, visited));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private Model readHeader(File pomFile) throws IOException {
+    Model model =
+        modelProcessor.read(pomFile, Collections.singletonMap(ModelReader.HEADER_ONLY, true));
+    model.setPomFile(pomFile);
+    return model;
+  }
+
+  private File getModuleFile(File basedir, String module) {
+    File moduleFile = new File(basedir, module.replace('\\', File.separatorChar));
+    if (moduleFile.isDirectory()) {
+      moduleFile = modelProcessor.locatePom(moduleFile);
+    }
+    return moduleFile;
+  }
+
+  /** Holds the default pool, which is created on first use and shared by all scanners. */
+  private static class DefaultPool {
+
+    static final ForkJoinPool INSTANCE = newPool(Runtime.getRuntime().availableProcessors());
+
+    private static ForkJoinPool newPool(int parallelism) {
+      // no compensation threads beyond the parallelism, idle workers terminate after a minute
+      return new ForkJoinPool(
+          parallelism,
+          ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+          null,
+          false,
+          0,
+          parallelism,
+          1,
+          pool -> true,
+          60,
+          TimeUnit.SECONDS);
+    }
+  }
+
+  private class ScanTask extends RecursiveTask<Map<File, Model>> {
+
+    private final File pomFile;
+
+    private final Set<File> visited;
+
+    ScanTask(File pomFile, Set<File> visited) {
+      this.pomFile = pomFile;
+      this.visited = visited;
+    }
+
+    @Override
+    protected Map<File, Model> compute() {
+      Map<File, Model> result = new LinkedHashMap<>();
+      File normalized = pomFile.getAbsoluteFile().toPath().normalize().toFile();
+      if (!visited.add(normalized) || !pomFile.isFile()) {
+        return result;
+      }
+
+      Model model;
+      try {
+        model = readHeader(pomFile);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      result.put(pomFile, model);
+
+      List<ScanTask> tasks = new ArrayList<>(model.getModules().size());
+      for (String module : model.getModules()) {
+        tasks.add(new ScanTask(getModuleFile(pomFile.getParentFile(), module), visited));
+      }
+      invokeAll(tasks);
+      for (ScanTask task : tasks) {
+        result.putAll(task.join());
+      }
+      return result;
+    }
+  }
+}
@@ -19,6 +19,7 @@ package org.apache.maven.model.building;
  * under the License.
  */
 
+import java.io.IOException;
 import java.net.URI;
 
 /**
@@ -52,4 +53,18 @@ public interface ModelSource2 extends ModelSource {
 
   /** Returns location of the POM, never <code>null</code>. */
   URI getLocationURI();
+
+  /**
+   * Returns a hash of the POM content which identifies the document independently of its location.
+   * Model sources with equal content hashes are parsed only once per model cache, sources that
+   * cannot provide a stable hash return <code>null</code>. The default implementation hashes the
+   * bytes of {@link #getInputStream()}.
+   *
+   * @return the content hash or <code>null</code> if unknown.
+   * @throws IOException if the content could not be read.
+   * @since 4.0.0
+   */
+  default String getContentHash() throws IOException {
+    return ContentHash.of(getInputStream());
+  }
 }
@@ -0,0 +1,209 @@
+package org.apache.maven.model.building;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Transforms the POMs of a reactor concurrently, e.g. to produce all consumer POMs at once. Every
+ * transformed POM is first written to a temporary file next to its target, which then replaces the
+ * target, so readers never see a partially written POM.
+ *
+ * @since 4.0.0
+ */
+public class ModelSourceBatchTransformer {
+
+  private final ModelSourceTransformer transformer;
+
+  private final ForkJoinPool pool;
+
+  public ModelSourceBatchTransformer(ModelSourceTransformer transformer) {
+    this(transformer, ForkJoinPool.commonPool());
+  }
+
+  public ModelSourceBatchTransformer(ModelSourceTransformer transformer, ForkJoinPool pool) {
+    this.transformer = Objects.requireNonNull(transformer, "transformer cannot be null");
+    this.pool = Objects.requireNonNull(pool, "pool cannot be null");
+  }
+
+  /**
+   * Transforms the specified POMs and writes each result to its target file. All POMs are
+   * processed, even if some of them fail. Unchecked exceptions of a transformation, including those
+   * of the target resolver, are reported like the other failures once all POMs are processed.
+   *
+   * @param pomFiles The POMs to transform, must not be {@code null}.
+   * @param context The context shared by all transformations, usually the one of the reactor.
+   * @param targetResolver Maps a POM to the file its transformation is written to, e.g. in the
+   *     build output directory of its project, must not be {@code null}.
+   * @return The transformations in the order of the POMs, never {@code null}.
+   * @throws IOException If a POM could not be read or written, further failures are suppressed.
+   * @throws TransformerException If a POM could not be transformed, further failures are
+   *     suppressed.
+   */
+  public List<Transformation> transformAll(
+      List<Path> pomFiles, TransformerContext context, Function<Path, Path> targetResolver)
+      throws IOException, TransformerException {
+    Objects.requireNonNull(pomFiles, "pomFiles cannot be null");
+    Objects.requireNonNull(targetResolver, "targetResolver cannot be null");
+
+    List<Future<Transformation>> tasks = new ArrayList<>(pomFiles.size());
+    for (Path pomFile : pomFiles) {
+      tasks.add(pool.submit(() -> transform(pomFile, context, targetResolver)));
+    }
+
+    List<Transformation> transformations = new ArrayList<>(tasks.size());
+    List<Exception> failures = new ArrayList<>();
+    for (Future<Transformation> task : tasks) {
+      Transformation transformation;
+      try {
+        transformation = task.get();
+      } catch (ExecutionException e) {
+        // transform() records all exceptions, only errors are left
+        if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+        throw new IllegalStateException(e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        for (Future<Transformation> t : tasks) {
+          t.cancel(false);
+        }
+        throw new InterruptedIOException("Interrupted while transforming " + pomFiles);
+      }
+      transformations.add(transformation);
+      if (transformation.failure != null) {
+        failures.add(transformation.failure);
+      }
+    }
+
+    if (!failures.isEmpty()) {
+      Exception failure = failures.get(0);
+      for (int i = 1; i < failures.size(); i++) {
+        failure.addSuppressed(failures.get(i));
+      }
+      if (failure instanceof IOException) {
+        throw (IOException) failure;
+      } else if (failure instanceof TransformerException) {
+        throw (TransformerException) failure;
+      }
+      throw (RuntimeException) failure;
+    }
+    return transformations;
+  }
+
+  private Transformation transform(
+      Path pomFile, TransformerContext context, Function<Path, Path> targetResolver) {
+    long start = System.nanoTime();
+    Path targetFile = null;
+    Exception failure = null;
+    try {
+      targetFile = targetResolver.apply(pomFile);
+      try (InputStream in = transformer.transform(pomFile, context)) {
+        write(in, targetFile);
+      }
+    } catch (IOException | TransformerException | RuntimeException e) {
+      failure = e;
+    }
+    return new Transformation(
+        pomFile, targetFile, Duration.ofNanos(System.nanoTime() - start), failure);
+  }
+
+  private static void write(InputStream in, Path targetFile) throws IOException {
+    Path directory = targetFile.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path tempFile = Files.createTempFile(directory, targetFile.getFileName().toString(), ".tmp");
+    try {
+      Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      try {
+        Files.move(tempFile, targetFile, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /** The transformation of a single POM. */
+  public static final class Transformation {
+
+    private final Path pomFile;
+
+    private final Path targetFile;
+
+    private final Duration duration;
+
+    // only reported through transformAll()
+    private final Exception failure;
+
+    Transformation(Path pomFile, Path targetFile, Duration duration, Exception failure) {
+      this.pomFile = pomFile;
+      this.targetFile = targetFile;
+      this.duration = duration;
+      this.failure = failure;
+    }
+
+    /**
+     * Gets the transformed POM.
+     *
+     * @return The POM, never {@code null}.
+     */
+    public Path getPomFile() {
+      return pomFile;
+    }
+
+    /**
+     * Gets the file the transformed POM was written to.
+     *
+     * @return The target file, never {@code null}.
+     */
+    public Path getTargetFile() {
+      return targetFile;
+    }
+
+    /**
+     * Gets the time spent to transform and write the POM.
+     *
+     * @return The duration, never {@code null}.
+     */
+    public Duration getDuration() {
+      return duration;
+    }
+
+    @Override
+    public String toString() {
+      return pomFile + " -> " + targetFile + " (" + duration.toMillis() + " ms)";
+    }
+  }
+}
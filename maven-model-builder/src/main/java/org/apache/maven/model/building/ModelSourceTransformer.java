@@ -22,6 +22,14 @@ package org.apache.maven.model.building;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
+import javax.xml.parsers.ParserConfigurationException;
+import org.apache.maven.xml.Factories;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.LexicalHandler;
 
 /**
  * @author Robert Scholte
@@ -30,4 +38,33 @@ import java.nio.file.Path;
 public interface ModelSourceTransformer {
   InputStream transform(Path pomFile, TransformerContext context)
       throws IOException, TransformerException;
+
+  /**
+   * Passes the transformed POM as SAX events to the handler. The handler gets the lexical events
+   * too if it is a {@link LexicalHandler}, and the errors if it is an {@link ErrorHandler}. By
+   * default the result of {@link #transform(Path, TransformerContext)} is parsed.
+   *
+   * @param pomFile the POM
+   * @param context the context of the transformation
+   * @param handler the handler of the transformed POM
+   * @throws IOException if the POM could not be read
+   * @throws TransformerException if the POM could not be transformed
+   * @since 4.0.0
+   */
+  default void transform(Path pomFile, TransformerContext context, ContentHandler handler)
+      throws IOException, TransformerException {
+    try (InputStream in = transform(pomFile, context)) {
+      XMLReader reader = Factories.getXMLReader();
+      reader.setContentHandler(handler);
+      if (handler instanceof LexicalHandler) {
+        reader.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
+      }
+      if (handler instanceof ErrorHandler) {
+        reader.setErrorHandler((ErrorHandler) handler);
+      }
+      reader.parse(new InputSource(in));
+    } catch (SAXException | ParserConfigurationException e) {
+      throw new TransformerException(e);
+    }
+  }
 }
@@ -0,0 +1,98 @@
+package org.apache.maven.model.building;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the resolution of relative POM paths like a parent's {@code relativePath}, see {@link
+ * ModelSource2#getRelatedSource(String)}. A single instance is meant to be shared by all model
+ * building requests of a reactor (see {@link ModelBuildingRequest#setPomPathCache(PomPathCache)}),
+ * so the file system is queried at most once per path, also for paths that do not lead to a POM.
+ * The cache is thread-safe and does not notice changes made to the file system after a path was
+ * resolved.
+ *
+ * @since 4.0.0
+ */
+public class PomPathCache {
+
+  private final ConcurrentMap<Path, Optional<File>> poms = new ConcurrentHashMap<>();
+
+  /**
+   * Resolves a path relative to the specified directory to a readable POM file.
+   *
+   * @param basedir The directory the path is relative to, must not be {@code null}.
+   * @param relPath The relative path to resolve, using either / or \ as separator and pointing at a
+   *     file or at a directory containing a {@code pom.xml}, must not be {@code null}.
+   * @return The normalized POM file or {@code null} if no readable POM exists at that path.
+   */
+  public File getRelatedPom(File basedir, String relPath) {
+    Objects.requireNonNull(basedir, "basedir cannot be null");
+    Objects.requireNonNull(relPath, "relPath cannot be null");
+
+    return poms.computeIfAbsent(toPath(basedir, relPath), PomPathCache::locatePom).orElse(null);
+  }
+
+  /**
+   * Resolves a path relative to the specified directory to a readable POM file without caching.
+   *
+   * @see #getRelatedPom(File, String)
+   */
+  static File getRelatedPomUncached(File basedir, String relPath) {
+    return locatePom(toPath(basedir, relPath)).orElse(null);
+  }
+
+  private static Path toPath(File basedir, String relPath) {
+    relPath = relPath.replace('\\', File.separatorChar).replace('/', File.separatorChar);
+    // normalized, so that e.g. the ../pom.xml of sibling modules is looked up once
+    return new File(basedir, relPath).getAbsoluteFile().toPath().normalize();
+  }
+
+  private static Optional<File> locatePom(Path path) {
+    BasicFileAttributes attributes = readAttributes(path);
+    if (attributes != null && attributes.isDirectory()) {
+      // TODO figure out how to reuse ModelLocator.locatePom(File) here
+      path = path.resolve("pom.xml");
+      attributes = readAttributes(path);
+    }
+
+    if (attributes != null && attributes.isRegularFile() && Files.isReadable(path)) {
+      return Optional.of(new File(path.toUri().normalize()));
+    }
+    return Optional.empty();
+  }
+
+  private static BasicFileAttributes readAttributes(Path path) {
+    try {
+      return Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (IOException e) {
+      // does not exist or is not accessible
+      return null;
+    }
+  }
+}
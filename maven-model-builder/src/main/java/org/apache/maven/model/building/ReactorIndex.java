@@ -0,0 +1,177 @@
+package org.apache.maven.model.building;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.maven.model.Model;
+import org.apache.maven.xml.sax.filter.RelativeProject;
+
+/**
+ * An immutable index of the projects of a reactor, answering the lookups of the POM filters (see
+ * {@link TransformerContext#getReactorVersion(String, String)} and {@link
+ * TransformerContext#getRelativeProject(Path)}) without searching the reactor or computing the
+ * inherited groupId and version again. It is meant to be created once per session, when the raw
+ * models of all projects are known, and to be shared by all transformations, e.g. through {@link
+ * #newTransformerContext(TransformerContext)}.
+ *
+ * @since 4.0.0
+ */
+public final class ReactorIndex {
+
+  private final Map<String, String> versions;
+
+  /** The groupId/artifactId pairs having more than one version in the reactor. */
+  private final Set<String> ambiguous;
+
+  private final Map<Path, RelativeProject> projects;
+
+  private ReactorIndex(
+      Map<String, String> versions, Set<String> ambiguous, Map<Path, RelativeProject> projects) {
+    this.versions = versions;
+    this.ambiguous = ambiguous;
+    this.projects = projects;
+  }
+
+  /**
+   * Indexes the specified raw models. Models with a POM file can be found by the path of that file
+   * and, if the file is named {@code pom.xml}, by the path of its directory.
+   *
+   * @param rawModels The raw models of the reactor projects, must not be {@code null}.
+   * @return The index, never {@code null}.
+   */
+  public static ReactorIndex of(Collection<Model> rawModels) {
+    Objects.requireNonNull(rawModels, "rawModels cannot be null");
+
+    Map<String, String> versions = new HashMap<>();
+    Set<String> ambiguous = new HashSet<>();
+    Map<Path, RelativeProject> projects = new HashMap<>();
+    for (Model model : rawModels) {
+      RelativeProject project = toRelativeProject(model);
+      String key = key(project.getGroupId(), project.getArtifactId());
+      if (!versions.containsKey(key)) {
+        versions.put(key, project.getVersion());
+      } else if (!Objects.equals(versions.get(key), project.getVersion())) {
+        ambiguous.add(key);
+      }
+
+      File pomFile = model.getPomFile();
+      if (pomFile != null) {
+        Path path = pomFile.toPath().toAbsolutePath().normalize();
+        projects.put(path, project);
+        if ("pom.xml".equals(pomFile.getName()) && path.getParent() != null) {
+          projects.put(path.getParent(), project);
+        }
+      }
+    }
+    return new ReactorIndex(versions, ambiguous, projects);
+  }
+
+  /**
+   * Gets the version of a reactor project, inherited from its parent if not specified.
+   *
+   * @param groupId The groupId of the project.
+   * @param artifactId The artifactId of the project.
+   * @return The version or {@code null} if the project is not part of the reactor.
+   * @throws IllegalStateException If multiple versions of the project are part of the reactor.
+   */
+  public String getVersion(String groupId, String artifactId) {
+    String key = key(groupId, artifactId);
+    if (ambiguous.contains(key)) {
+      throw new IllegalStateException("Multiple versions of " + key + " in the reactor");
+    }
+    return versions.get(key);
+  }
+
+  /**
+   * Gets the reactor project at the specified path.
+   *
+   * @param path The path of the POM file or its directory.
+   * @return The project or {@code null} if no reactor project has this path.
+   */
+  public RelativeProject getRelativeProject(Path path) {
+    return projects.get(path.toAbsolutePath().normalize());
+  }
+
+  /**
+   * Creates a context answering the lookups of the POM filters from this index and all other
+   * questions from the specified context.
+   *
+   * @param context The context of the session, must not be {@code null}.
+   * @return The context, never {@code null}.
+   */
+  public TransformerContext newTransformerContext(TransformerContext context) {
+    Objects.requireNonNull(context, "context cannot be null");
+    return new TransformerContext() {
+      @Override
+      public String getUserProperty(String key) {
+        return context.getUserProperty(key);
+      }
+
+      @Override
+      public Model getRawModel(Path p) {
+        return context.getRawModel(p);
+      }
+
+      @Override
+      public Model getRawModel(String groupId, String artifactId) {
+        return context.getRawModel(groupId, artifactId);
+      }
+
+      @Override
+      public String getReactorVersion(String groupId, String artifactId) {
+        return getVersion(groupId, artifactId);
+      }
+
+      @Override
+      public RelativeProject getRelativeProject(Path p) {
+        return ReactorIndex.this.getRelativeProject(p);
+      }
+    };
+  }
+
+  private static String key(String groupId, String artifactId) {
+    return groupId + ':' + artifactId;
+  }
+
+  static RelativeProject toRelativeProject(Model m) {
+    String groupId = m.getGroupId();
+    if (groupId == null && m.getParent() != null) {
+      groupId = m.getParent().getGroupId();
+    }
+
+    return new RelativeProject(groupId, m.getArtifactId(), toVersion(m));
+  }
+
+  static String toVersion(Model m) {
+    String version = m.getVersion();
+    if (version == null && m.getParent() != null) {
+      version = m.getParent().getVersion();
+    }
+
+    return version;
+  }
+}
@@ -0,0 +1,239 @@
+package org.apache.maven.model.building;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.xml.sax.filter.RelativeProject;
+
+/**
+ * Remembers transformed POMs together with the answers of the {@link TransformerContext} their
+ * transformation depended on, i.e. the reactor versions and parents it looked up and the user
+ * properties (like the CI friendly versions) it read. A transformed POM is reused as long as its
+ * file has the same content hash and the context still gives the same answers, so the cache stays
+ * valid across the reads of a session as well as across builds. Of the models returned by the
+ * context only the coordinates are compared, which are all the POM filters use.
+ */
+final class TransformedPomCache {
+
+  private final Map<Path, SoftReference<Entry>> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Gets the transformed POM if it is still valid for the specified context.
+   *
+   * @param pomFile The absolute path of the POM, must not be {@code null}.
+   * @param contentHash The hash of the POM content, must not be {@code null}.
+   * @param context The context of the current transformation, must not be {@code null}.
+   * @return The transformed POM or {@code null} if none is cached or the cached one is outdated.
+   */
+  InputStream get(Path pomFile, String contentHash, TransformerContext context) {
+    SoftReference<Entry> ref = entries.get(pomFile);
+    Entry entry = (ref != null) ? ref.get() : null;
+    if (entry == null || !entry.contentHash.equals(contentHash)) {
+      return null;
+    }
+    for (Map.Entry<Lookup, Object> lookup : entry.lookups.entrySet()) {
+      if (!Objects.equals(lookup.getValue(), lookup.getKey().ask(context))) {
+        return null;
+      }
+    }
+    return new ByteArrayInputStream(entry.bytes, 0, entry.length);
+  }
+
+  /**
+   * Caches a transformed POM.
+   *
+   * @param pomFile The absolute path of the POM, must not be {@code null}.
+   * @param contentHash The hash of the POM content, must not be {@code null}.
+   * @param recorder The context the POM was transformed with, must not be {@code null}.
+   * @param bytes The buffer holding the transformed POM, must no longer be modified.
+   * @param length The length of the transformed POM.
+   */
+  void put(Path pomFile, String contentHash, Recorder recorder, byte[] bytes, int length) {
+    Entry entry = new Entry(contentHash, recorder.getLookups(), bytes, length);
+    entries.put(pomFile, new SoftReference<>(entry));
+  }
+
+  private static Object fingerprint(Model model) {
+    if (model == null) {
+      return null;
+    }
+    Parent parent = model.getParent();
+    return Arrays.asList(
+        model.getGroupId(),
+        model.getArtifactId(),
+        model.getVersion(),
+        (parent != null) ? parent.getGroupId() : null,
+        (parent != null) ? parent.getVersion() : null);
+  }
+
+  private static Object fingerprint(RelativeProject project) {
+    if (project == null) {
+      return null;
+    }
+    return Arrays.asList(project.getGroupId(), project.getArtifactId(), project.getVersion());
+  }
+
+  private static final class Entry {
+
+    final String contentHash;
+
+    final Map<Lookup, Object> lookups;
+
+    final byte[] bytes;
+
+    final int length;
+
+    Entry(String contentHash, Map<Lookup, Object> lookups, byte[] bytes, int length) {
+      this.contentHash = contentHash;
+      this.lookups = lookups;
+      this.bytes = bytes;
+      this.length = length;
+    }
+  }
+
+  /** A question asked to the context. */
+  private static final class Lookup {
+
+    private static final int USER_PROPERTY = 0;
+
+    private static final int PATH = 1;
+
+    private static final int COORDINATES = 2;
+
+    private static final int REACTOR_VERSION = 3;
+
+    private static final int RELATIVE_PROJECT = 4;
+
+    private final int kind;
+
+    private final Object first;
+
+    private final String second;
+
+    private final int hashCode;
+
+    Lookup(int kind, Object first, String second) {
+      this.kind = kind;
+      this.first = first;
+      this.second = second;
+      this.hashCode = Objects.hash(kind, first, second);
+    }
+
+    Object ask(TransformerContext context) {
+      switch (kind) {
+        case USER_PROPERTY:
+          return context.getUserProperty((String) first);
+        case PATH:
+          return fingerprint(context.getRawModel((Path) first));
+        case COORDINATES:
+          return fingerprint(context.getRawModel((String) first, second));
+        case REACTOR_VERSION:
+          return context.getReactorVersion((String) first, second);
+        default:
+          return fingerprint(context.getRelativeProject((Path) first));
+      }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Lookup)) {
+        return false;
+      }
+      Lookup that = (Lookup) obj;
+      return kind == that.kind
+          && Objects.equals(first, that.first)
+          && Objects.equals(second, that.second);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /** Records the answers of a context during a transformation. */
+  static final class Recorder implements TransformerContext {
+
+    private final TransformerContext context;
+
+    private final Map<Lookup, Object> lookups = new LinkedHashMap<>();
+
+    Recorder(TransformerContext context) {
+      this.context = context;
+    }
+
+    @Override
+    public String getUserProperty(String key) {
+      String value = context.getUserProperty(key);
+      record(new Lookup(Lookup.USER_PROPERTY, key, null), value);
+      return value;
+    }
+
+    @Override
+    public Model getRawModel(Path p) {
+      Model model = context.getRawModel(p);
+      record(new Lookup(Lookup.PATH, p, null), fingerprint(model));
+      return model;
+    }
+
+    @Override
+    public Model getRawModel(String groupId, String artifactId) {
+      Model model = context.getRawModel(groupId, artifactId);
+      record(new Lookup(Lookup.COORDINATES, groupId, artifactId), fingerprint(model));
+      return model;
+    }
+
+    @Override
+    public String getReactorVersion(String groupId, String artifactId) {
+      String version = context.getReactorVersion(groupId, artifactId);
+      record(new Lookup(Lookup.REACTOR_VERSION, groupId, artifactId), version);
+      return version;
+    }
+
+    @Override
+    public RelativeProject getRelativeProject(Path p) {
+      RelativeProject project = context.getRelativeProject(p);
+      record(new Lookup(Lookup.RELATIVE_PROJECT, p, null), fingerprint(project));
+      return project;
+    }
+
+    private synchronized void record(Lookup lookup, Object answer) {
+      lookups.putIfAbsent(lookup, answer);
+    }
+
+    synchronized Map<Lookup, Object> getLookups() {
+      return Collections.unmodifiableMap(new LinkedHashMap<>(lookups));
+    }
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.maven.model.building;
 
 import java.nio.file.Path;
 import org.apache.maven.model.Model;
+import org.apache.maven.xml.sax.filter.RelativeProject;
 
 /**
  * Context used to transform a pom file.
@@ -58,4 +59,33 @@ public interface TransformerContext {
    * @throws IllegalStateException if multiple versions of the same GA are part of the reactor
    */
   Model getRawModel(String groupId, String artifactId) throws IllegalStateException;
+
+  /**
+   * Get the version of a reactor project, inherited from its parent if not specified. Will be used
+   * for reactor dependencies without version
+   *
+   * @param groupId the groupId
+   * @param artifactId the artifactId
+   * @return the version, otherwise {@code null}
+   * @throws IllegalStateException if multiple versions of the same GA are part of the reactor
+   * @since 4.0.0
+   */
+  default String getReactorVersion(String groupId, String artifactId)
+      throws IllegalStateException {
+    Model model = getRawModel(groupId, artifactId);
+    return (model != null) ? ReactorIndex.toVersion(model) : null;
+  }
+
+  /**
+   * Get the coordinates of the project at the path, inherited from its parent if not specified.
+   * Will be used to resolve the parent based on relativePath
+   *
+   * @param p the path
+   * @return the project, otherwise {@code null}
+   * @since 4.0.0
+   */
+  default RelativeProject getRelativeProject(Path p) {
+    Model model = getRawModel(p);
+    return (model != null) ? ReactorIndex.toRelativeProject(model) : null;
+  }
 }
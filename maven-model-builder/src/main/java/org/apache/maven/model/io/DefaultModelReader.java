@@ -20,12 +20,13 @@ package org.apache.maven.model.io;
  */
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -36,9 +37,13 @@ import org.apache.maven.model.building.TransformerContext;
 import org.apache.maven.model.building.TransformerException;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.apache.maven.model.io.xpp3.MavenXpp3ReaderEx;
+import org.apache.maven.model.io.xpp3.StringPool;
+import org.apache.maven.model.io.xpp3.XmlPullParserPool;
 import org.codehaus.plexus.util.ReaderFactory;
 import org.codehaus.plexus.util.xml.XmlStreamReader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.xml.sax.SAXParseException;
 
 /**
  * Handles deserialization of a model from some kind of textual format like XML.
@@ -63,23 +68,45 @@ public class DefaultModelReader implements ModelReader {
       context = (TransformerContext) options.get("transformerContext");
     }
 
-    final InputStream is;
     if (context == null) {
-      is = new FileInputStream(input);
-    } else {
-      try {
-        is = transformer.transform(input.toPath(), context);
-      } catch (TransformerException e) {
-        throw new IOException("Failed to transform " + input, e);
+      Model model = read(XmlFileInput.newReader(input), options);
+
+      model.setPomFile(input);
+
+      return model;
+    }
+
+    // the transformed POM is read right from its SAX events, locations refer to the POM file
+    SAXPullParser parser = new SAXPullParser();
+    try {
+      transformer.transform(input.toPath(), context, parser);
+    } catch (TransformerException e) {
+      if (e.getCause() instanceof SAXParseException) {
+        SAXParseException cause = (SAXParseException) e.getCause();
+        ModelParseException error =
+            new ModelParseException(
+                cause.getMessage(), cause.getLineNumber(), cause.getColumnNumber(), e);
+        if (!isHeaderOnly(options) && getStrictViolations(options) != null) {
+          getStrictViolations(options).add(error);
+        }
+        throw error;
       }
+      throw new IOException("Failed to transform " + input, e);
     }
 
-    try (InputStream in = is) {
-      Model model = read(is, options);
+    try {
+      Model model;
+      if (isHeaderOnly(options)) {
+        model = readHeader(parser);
+      } else {
+        model = read(parser, isStrict(options), getSource(options), getStrictViolations(options));
+      }
 
       model.setPomFile(input);
 
       return model;
+    } catch (XmlPullParserException e) {
+      throw toParseException(e);
     }
   }
 
@@ -88,7 +115,10 @@ public class DefaultModelReader implements ModelReader {
     Objects.requireNonNull(input, "input cannot be null");
 
     try (Reader in = input) {
-      return read(in, isStrict(options), getSource(options));
+      if (isHeaderOnly(options)) {
+        return readHeader(in);
+      }
+      return read(in, isStrict(options), getSource(options), getStrictViolations(options));
     }
   }
 
@@ -97,7 +127,10 @@ public class DefaultModelReader implements ModelReader {
     Objects.requireNonNull(input, "input cannot be null");
 
     try (XmlStreamReader in = ReaderFactory.newXmlReader(input)) {
-      return read(in, isStrict(options), getSource(options));
+      if (isHeaderOnly(options)) {
+        return readHeader(in);
+      }
+      return read(in, isStrict(options), getSource(options), getStrictViolations(options));
     }
   }
 
@@ -106,20 +139,92 @@ public class DefaultModelReader implements ModelReader {
     return value == null || Boolean.parseBoolean(value.toString());
   }
 
+  private boolean isHeaderOnly(Map<String, ?> options) {
+    Object value = (options != null) ? options.get(HEADER_ONLY) : null;
+    return value != null && Boolean.parseBoolean(value.toString());
+  }
+
   private InputSource getSource(Map<String, ?> options) {
     Object value = (options != null) ? options.get(INPUT_SOURCE) : null;
     return (InputSource) value;
   }
 
-  private Model read(Reader reader, boolean strict, InputSource source) throws IOException {
+  @SuppressWarnings("unchecked")
+  private List<ModelParseException> getStrictViolations(Map<String, ?> options) {
+    Object value = (options != null) ? options.get(STRICT_VIOLATIONS) : null;
+    return (List<ModelParseException>) value;
+  }
+
+  private Model read(
+      Reader reader,
+      boolean strict,
+      InputSource source,
+      List<ModelParseException> strictViolations)
+      throws IOException {
+    XmlPullParserPool pool = XmlPullParserPool.get(true);
+    XmlPullParser parser = null;
+    try {
+      parser = pool.acquire(reader);
+      return read(parser, strict, source, strictViolations);
+    } catch (XmlPullParserException e) {
+      throw toParseException(e);
+    } finally {
+      pool.release(parser);
+    }
+  }
+
+  private Model read(
+      XmlPullParser parser,
+      boolean strict,
+      InputSource source,
+      List<ModelParseException> strictViolations)
+      throws IOException, XmlPullParserException {
+    Consumer<XmlPullParserException> violationHandler = null;
+    if (strictViolations != null) {
+      strict = false;
+      violationHandler = e -> strictViolations.add(toParseException(e));
+    }
     try {
       if (source != null) {
-        return new MavenXpp3ReaderEx().read(reader, strict, source);
+        MavenXpp3ReaderEx mr = new MavenXpp3ReaderEx();
+        mr.setStringPool(StringPool.shared());
+        mr.setStrictViolationHandler(violationHandler);
+        return mr.read(parser, strict, source);
       } else {
-        return new MavenXpp3Reader().read(reader, strict);
+        MavenXpp3Reader mr = new MavenXpp3Reader();
+        mr.setStringPool(StringPool.shared());
+        mr.setStrictViolationHandler(violationHandler);
+        return mr.read(parser, strict);
+      }
+    } catch (XmlPullParserException e) {
+      if (strictViolations != null) {
+        // a strict parse would have failed too, callers can tell the option was honoured
+        strictViolations.add(toParseException(e));
       }
+      throw e;
+    }
+  }
+
+  private Model readHeader(Reader reader) throws IOException {
+    XmlPullParserPool pool = XmlPullParserPool.get(true);
+    XmlPullParser parser = null;
+    try {
+      parser = pool.acquire(reader);
+      return readHeader(parser);
     } catch (XmlPullParserException e) {
-      throw new ModelParseException(e.getMessage(), e.getLineNumber(), e.getColumnNumber(), e);
+      throw toParseException(e);
+    } finally {
+      pool.release(parser);
     }
   }
+
+  private Model readHeader(XmlPullParser parser) throws IOException, XmlPullParserException {
+    MavenXpp3Reader mr = new MavenXpp3Reader();
+    mr.setStringPool(StringPool.shared());
+    return mr.readHeader(parser);
+  }
+
+  private static ModelParseException toParseException(XmlPullParserException e) {
+    return new ModelParseException(e.getMessage(), e.getLineNumber(), e.getColumnNumber(), e);
+  }
 }
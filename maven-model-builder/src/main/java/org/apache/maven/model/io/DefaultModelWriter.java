@@ -24,6 +24,12 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import javax.inject.Named;
@@ -41,6 +47,10 @@ import org.codehaus.plexus.util.WriterFactory;
 @Singleton
 public class DefaultModelWriter implements ModelWriter {
 
+  /** The writers of the threads, each keeps its serializer and encoded names for reuse. */
+  private final ThreadLocal<MavenXpp3Writer> writers =
+      ThreadLocal.withInitial(MavenXpp3Writer::new);
+
   @Override
   public void write(File output, Map<String, Object> options, Model model) throws IOException {
     Objects.requireNonNull(output, "output cannot be null");
@@ -48,6 +58,18 @@ public class DefaultModelWriter implements ModelWriter {
 
     output.getParentFile().mkdirs();
 
+    if (isUtf8(model)) {
+      try (WritableByteChannel out =
+          FileChannel.open(
+              output.toPath(),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE)) {
+        writers.get().write(out, model);
+      }
+      return;
+    }
+
     write(WriterFactory.newXmlWriter(output), options, model);
   }
 
@@ -67,6 +89,13 @@ public class DefaultModelWriter implements ModelWriter {
     Objects.requireNonNull(output, "output cannot be null");
     Objects.requireNonNull(model, "model cannot be null");
 
+    if (isUtf8(model)) {
+      try (WritableByteChannel out = Channels.newChannel(output)) {
+        writers.get().write(out, model);
+      }
+      return;
+    }
+
     String encoding = model.getModelEncoding();
     // TODO Use StringUtils here
     if (encoding == null || encoding.length() <= 0) {
@@ -77,4 +106,39 @@ public class DefaultModelWriter implements ModelWriter {
       write(out, options, model);
     }
   }
+
+  /**
+   * Writes the supplied models concurrently. All models are attempted, the first failure is thrown
+   * with any further failures added as suppressed exceptions.
+   */
+  @Override
+  public void writeAll(Map<File, Model> models, Map<String, Object> options) throws IOException {
+    Objects.requireNonNull(models, "models cannot be null");
+
+    List<IOException> failures = new ArrayList<>();
+    models.entrySet().parallelStream()
+        .forEach(
+            entry -> {
+              try {
+                write(entry.getKey(), options, entry.getValue());
+              } catch (IOException e) {
+                synchronized (failures) {
+                  failures.add(e);
+                }
+              }
+            });
+
+    if (!failures.isEmpty()) {
+      IOException failure = failures.get(0);
+      for (int i = 1; i < failures.size(); i++) {
+        failure.addSuppressed(failures.get(i));
+      }
+      throw failure;
+    }
+  }
+
+  private static boolean isUtf8(Model model) {
+    String encoding = model.getModelEncoding();
+    return encoding == null || encoding.isEmpty() || "UTF-8".equalsIgnoreCase(encoding);
+  }
 }
@@ -47,6 +47,26 @@ public interface ModelReader {
    */
   String INPUT_SOURCE = "org.apache.maven.model.io.inputSource";
 
+  /**
+   * The key for the option to collect strict violations during a lenient parse. This option is of
+   * type {@link java.util.List} of {@link ModelParseException} and defaults to {@code null}. If
+   * present, the input is parsed in non-strict mode regardless of {@link #IS_STRICT} and every
+   * error a strict parse would have failed with is appended to the list, which allows callers to
+   * decide between a warning and an error without parsing the input twice. If the input cannot be
+   * parsed even in non-strict mode, the error is appended to the list as well before it is thrown.
+   */
+  String STRICT_VIOLATIONS = "org.apache.maven.model.io.strictViolations";
+
+  /**
+   * The key for the option to read only the header of the model. This option is of type {@link
+   * Boolean} and defaults to {@code false}. If {@code true}, only the model version, parent,
+   * coordinates, packaging and modules are read, which is sufficient to discover the projects of a
+   * reactor. Reading stops at the first large section like the dependencies, the build or the
+   * profiles, header elements placed after it are not seen. The options {@link #IS_STRICT}, {@link
+   * #INPUT_SOURCE} and {@link #STRICT_VIOLATIONS} are ignored in this mode.
+   */
+  String HEADER_ONLY = "org.apache.maven.model.io.headerOnly";
+
   /**
    * Reads the model from the specified file.
    *
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.util.Map;
+import java.util.Objects;
 import org.apache.maven.model.Model;
 
 /**
@@ -68,4 +69,23 @@ public interface ModelWriter {
    * @throws IOException If the model could not be serialized.
    */
   void write(OutputStream output, Map<String, Object> options, Model model) throws IOException;
+
+  /**
+   * Writes the supplied models to their respective files. Any non-existing parent directories of
+   * the output files will be created automatically. Implementations may write the files
+   * concurrently, the default implementation writes them one after the other.
+   *
+   * @param models The models to serialize keyed by their output file, must not be {@code null}.
+   * @param options The options to use for serialization, may be {@code null} to use the default
+   *     values.
+   * @throws IOException If any of the models could not be serialized.
+   * @since 4.0.0
+   */
+  default void writeAll(Map<File, Model> models, Map<String, Object> options) throws IOException {
+    Objects.requireNonNull(models, "models cannot be null");
+
+    for (Map.Entry<File, Model> entry : models.entrySet()) {
+      write(entry.getKey(), options, entry.getValue());
+    }
+  }
 }
@@ -0,0 +1,558 @@
+package org.apache.maven.model.io;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.ext.Locator2;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Records the SAX events of a document and then replays them as an {@link XmlPullParser}, so the
+ * generated model readers build the model right from a filtered SAX stream, without serializing it
+ * and parsing it again. The parser behaves like an {@code MXParser} without namespace processing
+ * reading the serialized stream: namespace declarations are attributes again, text is coalesced,
+ * comments and processing instructions are skipped, and every element without content is an empty
+ * element tag. Lines and columns are the ones reported by the {@link Locator} of the SAX parser,
+ * i.e. they refer to the original document.
+ *
+ * @since 4.0.0
+ */
+final class SAXPullParser extends DefaultHandler implements LexicalHandler, XmlPullParser {
+  private Locator locator;
+
+  private String inputEncoding;
+
+  // the recorded events, per event
+  private int[] types = new int[256];
+
+  private String[] names = new String[256];
+
+  private int[] lines = new int[256];
+
+  private int[] columns = new int[256];
+
+  /** The first attribute of a start tag, or the first character of a text. */
+  private int[] starts = new int[256];
+
+  /** The number of attributes of a start tag, or the number of characters of a text. */
+  private int[] lengths = new int[256];
+
+  private boolean[] empty = new boolean[256];
+
+  private int count;
+
+  private String[] attributeNames = new String[32];
+
+  private String[] attributeValues = new String[32];
+
+  private int attributeCount;
+
+  private char[] text = new char[1024];
+
+  private int textLength;
+
+  // recording state
+  private int textStart = -1;
+
+  private int textLine;
+
+  private int textColumn;
+
+  /** The start tag which had no content so far, otherwise -1. */
+  private int openStart = -1;
+
+  private String[] prefixes = new String[4];
+
+  private String[] uris = new String[4];
+
+  private int prefixCount;
+
+  // replay state
+  private int event = -1;
+
+  private int depth;
+
+  // -- recording
+
+  @Override
+  public void setDocumentLocator(Locator locator) {
+    this.locator = locator;
+  }
+
+  @Override
+  public void startPrefixMapping(String prefix, String uri) {
+    if (prefixCount == prefixes.length) {
+      prefixes = Arrays.copyOf(prefixes, prefixCount * 2);
+      uris = Arrays.copyOf(uris, prefixCount * 2);
+    }
+    prefixes[prefixCount] = prefix;
+    uris[prefixCount] = uri;
+    prefixCount++;
+  }
+
+  @Override
+  public void startElement(String uri, String localName, String qName, Attributes atts) {
+    if (inputEncoding == null && locator instanceof Locator2) {
+      inputEncoding = ((Locator2) locator).getEncoding();
+    }
+    flushText();
+
+    int first = attributeCount;
+    for (int i = 0; i < prefixCount; i++) {
+      String name = prefixes[i].isEmpty() ? "xmlns" : "xmlns:" + prefixes[i];
+      if (atts == null || atts.getIndex(name) < 0) {
+        addAttribute(name, uris[i]);
+      }
+    }
+    prefixCount = 0;
+    // the filters pass no attributes for the elements they add
+    if (atts != null) {
+      for (int i = 0; i < atts.getLength(); i++) {
+        addAttribute(atts.getQName(i), atts.getValue(i));
+      }
+    }
+
+    int e = add(START_TAG, qName);
+    starts[e] = first;
+    lengths[e] = attributeCount - first;
+    openStart = e;
+  }
+
+  @Override
+  public void endElement(String uri, String localName, String qName) {
+    flushText();
+    if (openStart >= 0) {
+      empty[openStart] = true;
+      openStart = -1;
+    }
+    add(END_TAG, qName);
+  }
+
+  @Override
+  public void characters(char[] ch, int start, int length) {
+    if (length == 0) {
+      return;
+    }
+    if (textStart < 0) {
+      textStart = textLength;
+    }
+    if (textLength + length > text.length) {
+      text = Arrays.copyOf(text, Math.max(textLength + length, text.length * 2));
+    }
+    System.arraycopy(ch, start, text, textLength, length);
+    textLength += length;
+    textLine = line();
+    textColumn = column();
+    openStart = -1;
+  }
+
+  @Override
+  public void ignorableWhitespace(char[] ch, int start, int length) {
+    characters(ch, start, length);
+  }
+
+  @Override
+  public void processingInstruction(String target, String data) {
+    openStart = -1;
+  }
+
+  @Override
+  public void comment(char[] ch, int start, int length) {
+    openStart = -1;
+  }
+
+  @Override
+  public void startCDATA() {
+    openStart = -1;
+  }
+
+  @Override
+  public void endCDATA() {}
+
+  @Override
+  public void startDTD(String name, String publicId, String systemId) {}
+
+  @Override
+  public void endDTD() {}
+
+  @Override
+  public void startEntity(String name) {}
+
+  @Override
+  public void endEntity(String name) {}
+
+  @Override
+  public void endDocument() {
+    flushText();
+    add(END_DOCUMENT, null);
+  }
+
+  @Override
+  public void fatalError(SAXParseException e) throws SAXException {
+    throw e;
+  }
+
+  private void flushText() {
+    if (textStart >= 0) {
+      int e = count;
+      add(TEXT, null);
+      lines[e] = textLine;
+      columns[e] = textColumn;
+      starts[e] = textStart;
+      lengths[e] = textLength - textStart;
+      textStart = -1;
+    }
+  }
+
+  private int add(int type, String name) {
+    if (count == types.length) {
+      int capacity = count * 2;
+      types = Arrays.copyOf(types, capacity);
+      names = Arrays.copyOf(names, capacity);
+      lines = Arrays.copyOf(lines, capacity);
+      columns = Arrays.copyOf(columns, capacity);
+      starts = Arrays.copyOf(starts, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+      empty = Arrays.copyOf(empty, capacity);
+    }
+    types[count] = type;
+    names[count] = name;
+    lines[count] = line();
+    columns[count] = column();
+    return count++;
+  }
+
+  private void addAttribute(String name, String value) {
+    if (attributeCount == attributeNames.length) {
+      attributeNames = Arrays.copyOf(attributeNames, attributeCount * 2);
+      attributeValues = Arrays.copyOf(attributeValues, attributeCount * 2);
+    }
+    attributeNames[attributeCount] = name;
+    attributeValues[attributeCount] = value;
+    attributeCount++;
+  }
+
+  private int line() {
+    return (locator != null) ? locator.getLineNumber() : -1;
+  }
+
+  private int column() {
+    return (locator != null) ? locator.getColumnNumber() : -1;
+  }
+
+  // -- replay
+
+  @Override
+  public int getEventType() {
+    return (event < 0) ? START_DOCUMENT : types[event];
+  }
+
+  @Override
+  public int next() throws XmlPullParserException {
+    if (getEventType() == END_TAG) {
+      depth--;
+    }
+    if (event + 1 >= count) {
+      if (getEventType() == END_DOCUMENT) {
+        throw new XmlPullParserException("already reached end of XML input", this, null);
+      }
+      throw new XmlPullParserException("unexpected end of recorded events", this, null);
+    }
+    event++;
+    if (types[event] == START_TAG) {
+      depth++;
+    }
+    return types[event];
+  }
+
+  @Override
+  public int nextToken() throws XmlPullParserException {
+    return next();
+  }
+
+  @Override
+  public int nextTag() throws XmlPullParserException {
+    int eventType = next();
+    if (eventType == TEXT && isWhitespace()) {
+      eventType = next();
+    }
+    if (eventType != START_TAG && eventType != END_TAG) {
+      throw new XmlPullParserException(
+          "expected START_TAG or END_TAG not " + TYPES[eventType], this, null);
+    }
+    return eventType;
+  }
+
+  @Override
+  public String nextText() throws XmlPullParserException {
+    if (getEventType() != START_TAG) {
+      throw new XmlPullParserException("parser must be on START_TAG to read next text", this, null);
+    }
+    int eventType = next();
+    if (eventType == TEXT) {
+      String result = getText();
+      eventType = next();
+      if (eventType != END_TAG) {
+        throw new XmlPullParserException(
+            "TEXT must be immediately followed by END_TAG and not " + TYPES[eventType], this, null);
+      }
+      return result;
+    } else if (eventType == END_TAG) {
+      return "";
+    } else {
+      throw new XmlPullParserException(
+          "parser must be on START_TAG or TEXT to read text", this, null);
+    }
+  }
+
+  @Override
+  public void require(int type, String namespace, String name) throws XmlPullParserException {
+    if (type != getEventType()
+        || (namespace != null && !namespace.equals(getNamespace()))
+        || (name != null && !name.equals(getName()))) {
+      throw new XmlPullParserException(
+          "expected event " + TYPES[type] + (name != null ? " with name '" + name + "'" : ""),
+          this,
+          null);
+    }
+  }
+
+  @Override
+  public int getDepth() {
+    return depth;
+  }
+
+  @Override
+  public int getLineNumber() {
+    return (event < 0) ? 1 : lines[event];
+  }
+
+  @Override
+  public int getColumnNumber() {
+    return (event < 0) ? 1 : columns[event];
+  }
+
+  @Override
+  public String getPositionDescription() {
+    int eventType = getEventType();
+    String description = TYPES[eventType];
+    if (eventType == START_TAG) {
+      description += " seen <" + names[event] + ">...";
+    } else if (eventType == END_TAG) {
+      description += " seen </" + names[event] + ">...";
+    }
+    return description + " @" + getLineNumber() + ":" + getColumnNumber();
+  }
+
+  @Override
+  public boolean isWhitespace() throws XmlPullParserException {
+    if (getEventType() != TEXT) {
+      throw new XmlPullParserException("no content available to check for whitespaces", this, null);
+    }
+    for (int i = starts[event], end = i + lengths[event]; i < end; i++) {
+      char c = text[i];
+      if (c != ' ' && c != '\n' && c != '\t' && c != '\r') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String getText() {
+    return (getEventType() == TEXT) ? new String(text, starts[event], lengths[event]) : null;
+  }
+
+  @Override
+  public char[] getTextCharacters(int[] holderForStartAndLength) {
+    if (getEventType() == TEXT) {
+      holderForStartAndLength[0] = starts[event];
+      holderForStartAndLength[1] = lengths[event];
+      return text;
+    }
+    holderForStartAndLength[0] = -1;
+    holderForStartAndLength[1] = -1;
+    return null;
+  }
+
+  @Override
+  public String getName() {
+    int eventType = getEventType();
+    return (eventType == START_TAG || eventType == END_TAG) ? names[event] : null;
+  }
+
+  @Override
+  public String getNamespace() {
+    int eventType = getEventType();
+    return (eventType == START_TAG || eventType == END_TAG) ? NO_NAMESPACE : null;
+  }
+
+  @Override
+  public String getPrefix() {
+    return null;
+  }
+
+  @Override
+  public boolean isEmptyElementTag() throws XmlPullParserException {
+    if (getEventType() != START_TAG) {
+      throw new XmlPullParserException(
+          "parser must be on START_TAG to check for empty element", this, null);
+    }
+    return empty[event];
+  }
+
+  @Override
+  public int getAttributeCount() {
+    return (getEventType() == START_TAG) ? lengths[event] : -1;
+  }
+
+  @Override
+  public String getAttributeNamespace(int index) {
+    attribute(index);
+    return NO_NAMESPACE;
+  }
+
+  @Override
+  public String getAttributeName(int index) {
+    return attributeNames[attribute(index)];
+  }
+
+  @Override
+  public String getAttributePrefix(int index) {
+    attribute(index);
+    return null;
+  }
+
+  @Override
+  public String getAttributeType(int index) {
+    attribute(index);
+    return "CDATA";
+  }
+
+  @Override
+  public boolean isAttributeDefault(int index) {
+    attribute(index);
+    return false;
+  }
+
+  @Override
+  public String getAttributeValue(int index) {
+    return attributeValues[attribute(index)];
+  }
+
+  @Override
+  public String getAttributeValue(String namespace, String name) {
+    if (getEventType() != START_TAG) {
+      throw new IndexOutOfBoundsException("only START_TAG can have attributes");
+    }
+    if (namespace != null && !namespace.isEmpty()) {
+      throw new IllegalArgumentException(
+          "when namespaces processing is disabled attribute namespace must be null");
+    }
+    for (int i = starts[event], end = i + lengths[event]; i < end; i++) {
+      if (attributeNames[i].equals(name)) {
+        return attributeValues[i];
+      }
+    }
+    return null;
+  }
+
+  private int attribute(int index) {
+    if (getEventType() != START_TAG) {
+      throw new IndexOutOfBoundsException("only START_TAG can have attributes");
+    }
+    if (index < 0 || index >= lengths[event]) {
+      throw new IndexOutOfBoundsException(
+          "attribute position must be 0.." + (lengths[event] - 1) + " and not " + index);
+    }
+    return starts[event] + index;
+  }
+
+  @Override
+  public String getInputEncoding() {
+    return inputEncoding;
+  }
+
+  @Override
+  public int getNamespaceCount(int depth) {
+    return 0;
+  }
+
+  @Override
+  public String getNamespacePrefix(int pos) throws XmlPullParserException {
+    throw new XmlPullParserException("namespace processing is disabled", this, null);
+  }
+
+  @Override
+  public String getNamespaceUri(int pos) throws XmlPullParserException {
+    throw new XmlPullParserException("namespace processing is disabled", this, null);
+  }
+
+  @Override
+  public String getNamespace(String prefix) {
+    return null;
+  }
+
+  @Override
+  public boolean getFeature(String name) {
+    return false;
+  }
+
+  @Override
+  public void setFeature(String name, boolean state) throws XmlPullParserException {
+    throw new XmlPullParserException("features can't be changed while replaying", this, null);
+  }
+
+  @Override
+  public Object getProperty(String name) {
+    return null;
+  }
+
+  @Override
+  public void setProperty(String name, Object value) throws XmlPullParserException {
+    throw new XmlPullParserException("properties can't be changed while replaying", this, null);
+  }
+
+  @Override
+  public void setInput(Reader in) throws XmlPullParserException {
+    throw new XmlPullParserException("the input is recorded from SAX events", this, null);
+  }
+
+  @Override
+  public void setInput(InputStream inputStream, String inputEncoding)
+      throws XmlPullParserException {
+    throw new XmlPullParserException("the input is recorded from SAX events", this, null);
+  }
+
+  @Override
+  public void defineEntityReplacementText(String entityName, String replacementText)
+      throws XmlPullParserException {
+    throw new XmlPullParserException("entities are resolved by the SAX parser", this, null);
+  }
+}
@@ -0,0 +1,188 @@
+package org.apache.maven.model.io;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import org.codehaus.plexus.util.ReaderFactory;
+
+/**
+ * Opens XML files for parsing. The file content is read (or memory-mapped for large files) in one
+ * go and documents without a byte order mark that are encoded in UTF-8 or US-ASCII are decoded
+ * directly, everything else goes through the encoding detection of {@link ReaderFactory}.
+ */
+final class XmlFileInput {
+
+  /** Files of at least this size are memory-mapped instead of being read onto the heap. */
+  static final int MAPPING_THRESHOLD = 256 * 1024;
+
+  /** The number of bytes searched for the end of the XML declaration. */
+  private static final int DECLARATION_LIMIT = 1024;
+
+  private XmlFileInput() {}
+
+  /**
+   * Opens a reader for the specified XML file.
+   *
+   * @param file The file to read, must not be {@code null}.
+   * @return The reader for the decoded file content, never {@code null}.
+   * @throws IOException If the file could not be read.
+   */
+  static Reader newReader(File file) throws IOException {
+    ByteBuffer bytes;
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        return ReaderFactory.newXmlReader(file);
+      } else if (size >= MAPPING_THRESHOLD) {
+        bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      } else {
+        bytes = ByteBuffer.allocate((int) size);
+        while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+          // read until the end of the file
+        }
+        bytes.flip();
+      }
+    }
+
+    if (isUtf8(bytes)) {
+      return new CharBufferReader(StandardCharsets.UTF_8.decode(bytes));
+    } else if (bytes.hasArray()) {
+      return ReaderFactory.newXmlReader(
+          new ByteArrayInputStream(bytes.array(), bytes.arrayOffset(), bytes.limit()));
+    } else {
+      return ReaderFactory.newXmlReader(file);
+    }
+  }
+
+  /**
+   * Tells whether the document can be decoded as UTF-8 without further detection, i.e. it starts
+   * with an ASCII character other than a byte order mark and either has no XML declaration or
+   * declares UTF-8 or US-ASCII.
+   */
+  static boolean isUtf8(ByteBuffer bytes) {
+    int length = bytes.remaining();
+    if (length < 2) {
+      return length == 0 || bytes.get(0) > 0;
+    }
+    if (bytes.get(0) <= 0 || bytes.get(1) == 0) {
+      // byte order mark, UTF-16 or UTF-32
+      return false;
+    }
+    if (!startsWith(bytes, 0, "<?xml")) {
+      return true;
+    }
+
+    int end = Math.min(length, DECLARATION_LIMIT);
+    for (int i = 5; i < end - 1; i++) {
+      byte b = bytes.get(i);
+      if (b == '?' && bytes.get(i + 1) == '>') {
+        return true;
+      } else if (b == 'e' && startsWith(bytes, i, "encoding")) {
+        return isUtf8Encoding(bytes, i + 8, end);
+      }
+    }
+    return false;
+  }
+
+  private static boolean isUtf8Encoding(ByteBuffer bytes, int index, int end) {
+    while (index < end && isWhitespace(bytes.get(index))) {
+      index++;
+    }
+    if (index >= end || bytes.get(index++) != '=') {
+      return false;
+    }
+    while (index < end && isWhitespace(bytes.get(index))) {
+      index++;
+    }
+    if (index >= end) {
+      return false;
+    }
+    byte quote = bytes.get(index++);
+    if (quote != '"' && quote != '\'') {
+      return false;
+    }
+    StringBuilder encoding = new StringBuilder(16);
+    for (; index < end && bytes.get(index) != quote; index++) {
+      encoding.append((char) bytes.get(index));
+    }
+    String name = encoding.toString();
+    return "UTF-8".equalsIgnoreCase(name)
+        || "UTF8".equalsIgnoreCase(name)
+        || "US-ASCII".equalsIgnoreCase(name)
+        || "ASCII".equalsIgnoreCase(name);
+  }
+
+  private static boolean startsWith(ByteBuffer bytes, int index, String prefix) {
+    if (bytes.remaining() - index < prefix.length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (bytes.get(index + i) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+  }
+
+  /** A reader over already decoded characters, without intermediate buffering. */
+  private static final class CharBufferReader extends Reader {
+
+    private final CharBuffer chars;
+
+    CharBufferReader(CharBuffer chars) {
+      this.chars = chars;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!chars.hasRemaining()) {
+        return -1;
+      }
+      int n = Math.min(len, chars.remaining());
+      chars.get(cbuf, off, n);
+      return n;
+    }
+
+    @Override
+    public int read() {
+      return chars.hasRemaining() ? chars.get() : -1;
+    }
+
+    @Override
+    public void close() {
+      // nothing to release
+    }
+  }
+}
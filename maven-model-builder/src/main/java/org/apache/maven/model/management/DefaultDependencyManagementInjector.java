@@ -56,7 +56,7 @@ public class DefaultDependencyManagementInjector implements DependencyManagement
 
     public void mergeManagedDependencies(Model model) {
       DependencyManagement dependencyManagement = model.getDependencyManagement();
-      if (dependencyManagement != null) {
+      if (dependencyManagement != null && !model.getDependencies().isEmpty()) {
         Map<Object, Dependency> dependencies = new HashMap<>();
         Map<Object, Object> context = Collections.emptyMap();
 
@@ -0,0 +1,209 @@
+package org.apache.maven.model.plugin;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.util.function.Consumer;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.pull.XmlSerializer;
+
+/**
+ * A configuration DOM that shares the children of a (read-only) template DOM until it is first
+ * structurally accessed or mutated. Used to hand the same plugin level configuration to many
+ * executions or report sets without deep copying it for each of them up front.
+ *
+ * <p>The element name, value and attributes are copied eagerly (they are cheap). The children are
+ * deep copied from the template on first access to the children or attributes, or on any mutation,
+ * so every caller of the regular {@link Xpp3Dom} API observes an ordinary, fully owned DOM. An
+ * optional completion step can be given that is run right after the children have been copied,
+ * which allows to defer the whole computation of a configuration until somebody looks at it.
+ */
+class CopyOnWriteXpp3Dom extends Xpp3Dom {
+
+  private transient Xpp3Dom template;
+
+  private transient Consumer<Xpp3Dom> completion;
+
+  private transient volatile boolean materialized;
+
+  /**
+   * Creates a view of the given template. The template must not be modified afterwards.
+   *
+   * @param template The DOM whose children should be shared, must not be {@code null}.
+   */
+  CopyOnWriteXpp3Dom(Xpp3Dom template) {
+    this(template, null);
+  }
+
+  /**
+   * Creates a view of the given template that is completed by the given step on first access.
+   *
+   * @param template The DOM whose children should be shared, must not be {@code null}.
+   * @param completion The step to run on this DOM after the children of the template have been
+   *     copied, may be {@code null}.
+   */
+  CopyOnWriteXpp3Dom(Xpp3Dom template, Consumer<Xpp3Dom> completion) {
+    super(template.getName(), template.getInputLocation());
+    setValue(template.getValue());
+    for (String attributeName : template.getAttributeNames()) {
+      setAttribute(attributeName, template.getAttribute(attributeName));
+    }
+    this.completion = completion;
+    this.template = template;
+  }
+
+  /**
+   * Tells whether this DOM still shares its children with the template.
+   *
+   * @return {@code true} if the children have not been copied yet, {@code false} otherwise.
+   */
+  boolean isShared() {
+    return !materialized;
+  }
+
+  private void materialize() {
+    if (!materialized) {
+      synchronized (this) {
+        // a null template means that the constructor or this very thread is still filling in
+        if (!materialized && template != null) {
+          Xpp3Dom shared = template;
+          template = null;
+          for (int i = 0, n = shared.getChildCount(); i < n; i++) {
+            super.addChild(new Xpp3Dom(shared.getChild(i)));
+          }
+          if (completion != null) {
+            completion.accept(this);
+            completion = null;
+          }
+          materialized = true;
+        }
+      }
+    }
+  }
+
+  @Override
+  public String[] getAttributeNames() {
+    materialize();
+    return super.getAttributeNames();
+  }
+
+  @Override
+  public String getAttribute(String name) {
+    materialize();
+    return super.getAttribute(name);
+  }
+
+  @Override
+  public boolean removeAttribute(String name) {
+    materialize();
+    return super.removeAttribute(name);
+  }
+
+  @Override
+  public void setAttribute(String name, String value) {
+    materialize();
+    super.setAttribute(name, value);
+  }
+
+  @Override
+  public Xpp3Dom getChild(int i) {
+    materialize();
+    return super.getChild(i);
+  }
+
+  @Override
+  public Xpp3Dom getChild(String name) {
+    materialize();
+    return super.getChild(name);
+  }
+
+  @Override
+  public void addChild(Xpp3Dom xpp3Dom) {
+    materialize();
+    super.addChild(xpp3Dom);
+  }
+
+  @Override
+  public Xpp3Dom[] getChildren() {
+    materialize();
+    return super.getChildren();
+  }
+
+  @Override
+  public Xpp3Dom[] getChildren(String name) {
+    materialize();
+    return super.getChildren(name);
+  }
+
+  @Override
+  public int getChildCount() {
+    materialize();
+    return super.getChildCount();
+  }
+
+  @Override
+  public void removeChild(int i) {
+    materialize();
+    super.removeChild(i);
+  }
+
+  @Override
+  public void removeChild(Xpp3Dom child) {
+    materialize();
+    super.removeChild(child);
+  }
+
+  @Override
+  public void writeToSerializer(String namespace, XmlSerializer serializer) throws IOException {
+    materialize();
+    super.writeToSerializer(namespace, serializer);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    materialize();
+    if (obj instanceof CopyOnWriteXpp3Dom) {
+      ((CopyOnWriteXpp3Dom) obj).materialize();
+    }
+    return super.equals(obj);
+  }
+
+  @Override
+  public int hashCode() {
+    materialize();
+    return super.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    materialize();
+    return super.toString();
+  }
+
+  @Override
+  public String toUnescapedString() {
+    materialize();
+    return super.toUnescapedString();
+  }
+
+  private Object writeReplace() {
+    return new Xpp3Dom(this);
+  }
+}
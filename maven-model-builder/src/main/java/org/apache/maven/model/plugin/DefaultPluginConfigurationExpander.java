@@ -60,12 +60,20 @@ public class DefaultPluginConfigurationExpander implements PluginConfigurationEx
     for (Plugin plugin : plugins) {
       Xpp3Dom pluginConfiguration = (Xpp3Dom) plugin.getConfiguration();
 
-      if (pluginConfiguration != null) {
+      if (pluginConfiguration != null && !plugin.getExecutions().isEmpty()) {
+        // one private snapshot per plugin, shared read-only by all of its executions
+        Xpp3Dom sharedConfiguration = new Xpp3Dom(pluginConfiguration);
+
         for (PluginExecution execution : plugin.getExecutions()) {
           Xpp3Dom executionConfiguration = (Xpp3Dom) execution.getConfiguration();
 
-          executionConfiguration =
-              Xpp3Dom.mergeXpp3Dom(executionConfiguration, new Xpp3Dom(pluginConfiguration));
+          if (executionConfiguration == null) {
+            executionConfiguration = new CopyOnWriteXpp3Dom(sharedConfiguration);
+          } else {
+            // the recessive DOM is only read, merged children are copied into the dominant one
+            executionConfiguration =
+                Xpp3Dom.mergeXpp3Dom(executionConfiguration, sharedConfiguration);
+          }
 
           execution.setConfiguration(executionConfiguration);
         }
@@ -44,13 +44,24 @@ public class DefaultReportConfigurationExpander implements ReportConfigurationEx
     Reporting reporting = model.getReporting();
 
     if (reporting != null) {
+      boolean lazy = DefaultReportingConverter.isLazy(request);
+
       for (ReportPlugin reportPlugin : reporting.getPlugins()) {
         Xpp3Dom parentDom = (Xpp3Dom) reportPlugin.getConfiguration();
 
-        if (parentDom != null) {
+        if (parentDom != null && !reportPlugin.getReportSets().isEmpty()) {
+          Xpp3Dom sharedDom = new Xpp3Dom(parentDom);
+
           for (ReportSet execution : reportPlugin.getReportSets()) {
             Xpp3Dom childDom = (Xpp3Dom) execution.getConfiguration();
-            childDom = Xpp3Dom.mergeXpp3Dom(childDom, new Xpp3Dom(parentDom));
+            if (childDom == null) {
+              childDom = new CopyOnWriteXpp3Dom(sharedDom);
+            } else if (lazy) {
+              childDom =
+                  new CopyOnWriteXpp3Dom(childDom, dom -> Xpp3Dom.mergeXpp3Dom(dom, sharedDom));
+            } else {
+              childDom = Xpp3Dom.mergeXpp3Dom(childDom, sharedDom);
+            }
             execution.setConfiguration(childDom);
           }
         }
@@ -21,6 +21,7 @@ package org.apache.maven.model.plugin;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
+import org.apache.maven.feature.Features;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.InputLocation;
 import org.apache.maven.model.InputSource;
@@ -30,6 +31,7 @@ import org.apache.maven.model.PluginManagement;
 import org.apache.maven.model.ReportPlugin;
 import org.apache.maven.model.ReportSet;
 import org.apache.maven.model.Reporting;
+import org.apache.maven.model.building.ModelBuildingListener;
 import org.apache.maven.model.building.ModelBuildingRequest;
 import org.apache.maven.model.building.ModelProblem.Severity;
 import org.apache.maven.model.building.ModelProblem.Version;
@@ -93,14 +95,7 @@ public class DefaultReportingConverter implements ReportingConverter {
 
     Xpp3Dom configuration = (Xpp3Dom) sitePlugin.getConfiguration();
 
-    if (configuration == null) {
-      configuration = new Xpp3Dom("configuration", location);
-      sitePlugin.setConfiguration(configuration);
-    }
-
-    Xpp3Dom reportPlugins = configuration.getChild("reportPlugins");
-
-    if (reportPlugins != null) {
+    if (configuration != null && configuration.getChild("reportPlugins") != null) {
       // new-style report configuration already present: warn since this new style has been
       // deprecated
       // in favor of classical reporting section MSITE-647 / MSITE-684
@@ -113,6 +108,33 @@ public class DefaultReportingConverter implements ReportingConverter {
       return;
     }
 
+    if (configuration == null) {
+      configuration = new Xpp3Dom("configuration", location);
+    }
+
+    if (isLazy(request)) {
+      // the site plugin configuration is only synthesized when somebody actually looks at it, from
+      // a copy of the reporting section as it is now
+      Reporting snapshot = reporting.clone();
+      sitePlugin.setConfiguration(
+          new CopyOnWriteXpp3Dom(configuration, dom -> addReportPlugins(dom, snapshot)));
+    } else {
+      addReportPlugins(configuration, reporting);
+      sitePlugin.setConfiguration(configuration);
+    }
+  }
+
+  /**
+   * Tells whether the configuration derived from the reporting section may be computed on first
+   * access.
+   */
+  static boolean isLazy(ModelBuildingRequest request) {
+    ModelBuildingListener listener = request.getModelBuildingListener();
+    return Features.lazyReporting().isActive()
+        && (listener == null || !listener.isReportingRequired());
+  }
+
+  private void addReportPlugins(Xpp3Dom configuration, Reporting reporting) {
     if (configuration.getChild("outputDirectory") == null) {
       addDom(
           configuration,
@@ -121,7 +143,7 @@ public class DefaultReportingConverter implements ReportingConverter {
           reporting.getLocation("outputDirectory"));
     }
 
-    reportPlugins = new Xpp3Dom("reportPlugins", location);
+    Xpp3Dom reportPlugins = new Xpp3Dom("reportPlugins", location);
     configuration.addChild(reportPlugins);
 
     boolean hasMavenProjectInfoReportsPlugin = false;
@@ -21,6 +21,8 @@ package org.apache.maven.model.profile;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +70,39 @@ public class DefaultProfileInjector implements ProfileInjector {
     }
   }
 
+  @Override
+  public void injectProfiles(
+      Model model,
+      List<Profile> profiles,
+      ModelBuildingRequest request,
+      ModelProblemCollector problems) {
+    if (profiles.size() < 2) {
+      for (Profile profile : profiles) {
+        injectProfile(model, profile, request, problems);
+      }
+      return;
+    }
+
+    Map<Object, Object> context = new HashMap<>();
+    ProfileModelMerger.Batch batch = new ProfileModelMerger.Batch();
+    context.put(ProfileModelMerger.Batch.class, batch);
+
+    for (Profile profile : profiles) {
+      if (profile != null) {
+        merger.mergeModelBase(model, profile, context);
+
+        if (profile.getBuild() != null) {
+          if (model.getBuild() == null) {
+            model.setBuild(new Build());
+          }
+          merger.mergeBuildBase(model.getBuild(), profile.getBuild(), context);
+        }
+      }
+    }
+
+    batch.flush();
+  }
+
   /** ProfileModelMerger */
   protected static class ProfileModelMerger extends MavenModelMerger {
 
@@ -79,12 +114,29 @@ public class DefaultProfileInjector implements ProfileInjector {
       mergeBuildBase(target, source, true, Collections.emptyMap());
     }
 
+    void mergeModelBase(ModelBase target, ModelBase source, Map<Object, Object> context) {
+      mergeModelBase(target, source, true, context);
+    }
+
+    void mergeBuildBase(BuildBase target, BuildBase source, Map<Object, Object> context) {
+      mergeBuildBase(target, source, true, context);
+    }
+
     @Override
     protected void mergePluginContainer_Plugins(
         PluginContainer target,
         PluginContainer source,
         boolean sourceDominant,
         Map<Object, Object> context) {
+      Batch batch = (Batch) context.get(Batch.class);
+      if (batch != null) {
+        List<Plugin> src = source.getPlugins();
+        if (!src.isEmpty()) {
+          batch.plugins(target, this).merge(src, sourceDominant, context);
+        }
+        return;
+      }
+
       List<Plugin> src = source.getPlugins();
       if (!src.isEmpty()) {
         List<Plugin> tgt = target.getPlugins();
@@ -129,6 +181,21 @@ public class DefaultProfileInjector implements ProfileInjector {
     @Override
     protected void mergePlugin_Executions(
         Plugin target, Plugin source, boolean sourceDominant, Map<Object, Object> context) {
+      Batch batch = (Batch) context.get(Batch.class);
+      if (batch != null) {
+        for (PluginExecution element : source.getExecutions()) {
+          Map<Object, PluginExecution> merged = batch.executions(target, this);
+          Object key = getPluginExecutionKey().apply(element);
+          PluginExecution existing = merged.get(key);
+          if (existing != null) {
+            mergePluginExecution(existing, element, sourceDominant, context);
+          } else {
+            merged.put(key, element);
+          }
+        }
+        return;
+      }
+
       List<PluginExecution> src = source.getExecutions();
       if (!src.isEmpty()) {
         List<PluginExecution> tgt = target.getExecutions();
@@ -156,6 +223,21 @@ public class DefaultProfileInjector implements ProfileInjector {
     @Override
     protected void mergeReporting_Plugins(
         Reporting target, Reporting source, boolean sourceDominant, Map<Object, Object> context) {
+      Batch batch = (Batch) context.get(Batch.class);
+      if (batch != null) {
+        for (ReportPlugin element : source.getPlugins()) {
+          Map<Object, ReportPlugin> merged = batch.reportPlugins(target, this);
+          Object key = getReportPluginKey().apply(element);
+          ReportPlugin existing = merged.get(key);
+          if (existing == null) {
+            merged.put(key, element);
+          } else {
+            mergeReportPlugin(existing, element, sourceDominant, context);
+          }
+        }
+        return;
+      }
+
       List<ReportPlugin> src = source.getPlugins();
       if (!src.isEmpty()) {
         List<ReportPlugin> tgt = target.getPlugins();
@@ -186,6 +268,21 @@ public class DefaultProfileInjector implements ProfileInjector {
         ReportPlugin source,
         boolean sourceDominant,
         Map<Object, Object> context) {
+      Batch batch = (Batch) context.get(Batch.class);
+      if (batch != null) {
+        for (ReportSet element : source.getReportSets()) {
+          Map<Object, ReportSet> merged = batch.reportSets(target, this);
+          Object key = getReportSetKey().apply(element);
+          ReportSet existing = merged.get(key);
+          if (existing != null) {
+            mergeReportSet(existing, element, sourceDominant, context);
+          } else {
+            merged.put(key, element);
+          }
+        }
+        return;
+      }
+
       List<ReportSet> src = source.getReportSets();
       if (!src.isEmpty()) {
         List<ReportSet> tgt = target.getReportSets();
@@ -209,5 +306,149 @@ public class DefaultProfileInjector implements ProfileInjector {
         target.setReportSets(new ArrayList<>(merged.values()));
       }
     }
+
+    /**
+     * Keyed views of the target lists that are touched while injecting several profiles at once.
+     * Each target list is indexed once, updated in place by every profile and only written back
+     * to the model by {@link #flush()}.
+     */
+    static class Batch {
+
+      private final Map<PluginContainer, PluginList> plugins = new IdentityHashMap<>();
+
+      private final Map<Plugin, Map<Object, PluginExecution>> executions = new IdentityHashMap<>();
+
+      private final Map<Reporting, Map<Object, ReportPlugin>> reportPlugins =
+          new IdentityHashMap<>();
+
+      private final Map<ReportPlugin, Map<Object, ReportSet>> reportSets = new IdentityHashMap<>();
+
+      PluginList plugins(PluginContainer target, ProfileModelMerger merger) {
+        return plugins.computeIfAbsent(target, t -> new PluginList(t.getPlugins(), merger));
+      }
+
+      Map<Object, PluginExecution> executions(Plugin target, ProfileModelMerger merger) {
+        return executions.computeIfAbsent(
+            target, t -> index(t.getExecutions(), merger.getPluginExecutionKey()));
+      }
+
+      Map<Object, ReportPlugin> reportPlugins(Reporting target, ProfileModelMerger merger) {
+        return reportPlugins.computeIfAbsent(
+            target, t -> index(t.getPlugins(), merger.getReportPluginKey()));
+      }
+
+      Map<Object, ReportSet> reportSets(ReportPlugin target, ProfileModelMerger merger) {
+        return reportSets.computeIfAbsent(
+            target, t -> index(t.getReportSets(), merger.getReportSetKey()));
+      }
+
+      private static <T> Map<Object, T> index(List<T> elements, KeyComputer<T> keyComputer) {
+        Map<Object, T> index = new LinkedHashMap<>(elements.size() * 2);
+        for (T element : elements) {
+          index.put(keyComputer.apply(element), element);
+        }
+        return index;
+      }
+
+      void flush() {
+        plugins.forEach((target, list) -> target.setPlugins(list.toList()));
+        executions.forEach((target, map) -> target.setExecutions(new ArrayList<>(map.values())));
+        reportPlugins.forEach((target, map) -> target.setPlugins(new ArrayList<>(map.values())));
+        reportSets.forEach((target, map) -> target.setReportSets(new ArrayList<>(map.values())));
+      }
+    }
+
+    /**
+     * Linked list of plugins indexed by plugin key. Merging a profile keeps the order of the
+     * existing plugins, inserts new plugins right before the next existing plugin that follows them
+     * in the profile and appends the remaining new plugins, exactly like {@link
+     * #mergePluginContainer_Plugins} does for a single profile.
+     */
+    static class PluginList {
+
+      private static class Node {
+        final Plugin plugin;
+        Node prev;
+        Node next;
+
+        Node(Plugin plugin) {
+          this.plugin = plugin;
+        }
+      }
+
+      private final ProfileModelMerger merger;
+
+      private final Map<Object, Node> nodes;
+
+      private Node head;
+
+      private Node tail;
+
+      PluginList(List<Plugin> plugins, ProfileModelMerger merger) {
+        this.merger = merger;
+        this.nodes = new HashMap<>(plugins.size() * 2);
+        Map<Object, Plugin> master = new LinkedHashMap<>(plugins.size() * 2);
+        for (Plugin plugin : plugins) {
+          master.put(merger.getPluginKey().apply(plugin), plugin);
+        }
+        for (Map.Entry<Object, Plugin> entry : master.entrySet()) {
+          Node node = new Node(entry.getValue());
+          nodes.put(entry.getKey(), node);
+          insertBefore(null, node);
+        }
+      }
+
+      void merge(List<Plugin> src, boolean sourceDominant, Map<Object, Object> context) {
+        List<Object> pendingKeys = new ArrayList<>();
+        List<Plugin> pending = new ArrayList<>();
+        for (Plugin element : src) {
+          Object key = merger.getPluginKey().apply(element);
+          Node existing = nodes.get(key);
+          if (existing != null) {
+            merger.mergePlugin(existing.plugin, element, sourceDominant, context);
+
+            insertAll(existing, pendingKeys, pending);
+          } else {
+            pendingKeys.add(key);
+            pending.add(element);
+          }
+        }
+        insertAll(null, pendingKeys, pending);
+      }
+
+      private void insertAll(Node successor, List<Object> keys, List<Plugin> plugins) {
+        for (int i = 0, n = plugins.size(); i < n; i++) {
+          Node node = new Node(plugins.get(i));
+          nodes.put(keys.get(i), node);
+          insertBefore(successor, node);
+        }
+        keys.clear();
+        plugins.clear();
+      }
+
+      private void insertBefore(Node successor, Node node) {
+        Node predecessor = successor != null ? successor.prev : tail;
+        node.prev = predecessor;
+        node.next = successor;
+        if (predecessor != null) {
+          predecessor.next = node;
+        } else {
+          head = node;
+        }
+        if (successor != null) {
+          successor.prev = node;
+        } else {
+          tail = node;
+        }
+      }
+
+      List<Plugin> toList() {
+        List<Plugin> result = new ArrayList<>(nodes.size());
+        for (Node node = head; node != null; node = node.next) {
+          result.add(node.plugin);
+        }
+        return result;
+      }
+    }
   }
 }
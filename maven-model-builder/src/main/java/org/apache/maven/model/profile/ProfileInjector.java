@@ -19,6 +19,7 @@ package org.apache.maven.model.profile;
  * under the License.
  */
 
+import java.util.List;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Profile;
 import org.apache.maven.model.building.ModelBuildingRequest;
@@ -47,4 +48,29 @@ public interface ProfileInjector {
    */
   void injectProfile(
       Model model, Profile profile, ModelBuildingRequest request, ModelProblemCollector problems);
+
+  /**
+   * Merges values from the specified profiles into the given model. The result must be the same as
+   * injecting the profiles one after the other in list order, but implementations may merge the
+   * profiles in a single pass over the model.
+   *
+   * @param model The model into which to merge the values defined by the profiles, must not be
+   *     <code>null</code>.
+   * @param profiles The (read-only) profiles whose values should be injected, must not be <code>
+   *     null</code>.
+   * @param request The model building request that holds further settings, must not be {@code
+   *     null}.
+   * @param problems The container used to collect problems that were encountered, must not be
+   *     {@code null}.
+   * @since 4.0.0
+   */
+  default void injectProfiles(
+      Model model,
+      List<Profile> profiles,
+      ModelBuildingRequest request,
+      ModelProblemCollector problems) {
+    for (Profile profile : profiles) {
+      injectProfile(model, profile, request, problems);
+    }
+  }
 }
@@ -21,5 +21,6 @@ module org.maven.model {
 
   exports org.apache.maven.model;
   exports org.apache.maven.model.merge;
+  exports org.apache.maven.model.io.binary;
   exports org.apache.maven.model.io.xpp3;
 }
@@ -20,17 +20,37 @@ public final class InputLocation
   // - Class/Member Variables -/
   // --------------------------/
 
-  /** The one-based line number. The value will be non-positive if unknown. */
-  private int lineNumber = -1;
-
-  /** The one-based column number. The value will be non-positive if unknown. */
-  private int columnNumber = -1;
+  /**
+   * The one-based line number in the upper and the one-based column number in the lower 32 bits.
+   * The values will be non-positive if unknown.
+   */
+  private long position = pack(-1, -1);
 
   /** Field source. */
   private InputSource source;
 
-  /** Field locations. */
-  private java.util.Map<Object, InputLocation> locations;
+  /**
+   * The keys of the nested locations, in insertion order. Nested locations are kept in two small
+   * parallel arrays rather than a map, since almost all locations have none or only a handful.
+   */
+  private Object[] locationKeys;
+
+  /** The nested locations, parallel to {@link #locationKeys}. */
+  private InputLocation[] locationValues;
+
+  /** The number of nested locations. */
+  private int locationCount;
+
+  /**
+   * Key to array index for locations with many nested locations. It is maintained whenever nested
+   * locations are added or removed, so lookups never modify a location and shared locations may be
+   * read concurrently. Lookups fall back to a linear search while it is {@code null}, e.g. after
+   * deserialization.
+   */
+  private transient java.util.Map<Object, Integer> locationIndex;
+
+  /** Nested locations up to this count are searched linearly. */
+  private static final int LINEAR_LOOKUP_LIMIT = 8;
 
   /** Field location. */
   private InputLocation location;
@@ -40,16 +60,19 @@ public final class InputLocation
   // ----------------/
 
   public InputLocation(int lineNumber, int columnNumber) {
-    this.lineNumber = lineNumber;
-    this.columnNumber = columnNumber;
+    this.position = pack(lineNumber, columnNumber);
   } // -- org.apache.maven.model.InputLocation(int, int)
 
   public InputLocation(int lineNumber, int columnNumber, InputSource source) {
-    this.lineNumber = lineNumber;
-    this.columnNumber = columnNumber;
+    this.position = pack(lineNumber, columnNumber);
     this.source = source;
   } // -- org.apache.maven.model.InputLocation(int, int, InputSource)
 
+  private InputLocation(long position, InputSource source) {
+    this.position = position;
+    this.source = source;
+  } // -- org.apache.maven.model.InputLocation(long, InputSource)
+
   // -----------/
   // - Methods -/
   // -----------/
@@ -63,8 +86,10 @@ public final class InputLocation
     try {
       InputLocation copy = (InputLocation) super.clone();
 
-      if (copy.locations != null) {
-        copy.locations = new java.util.LinkedHashMap(copy.locations);
+      if (copy.locationKeys != null) {
+        copy.locationKeys = copy.locationKeys.clone();
+        copy.locationValues = copy.locationValues.clone();
+        copy.reindex();
       }
 
       return copy;
@@ -82,7 +107,7 @@ public final class InputLocation
    * @return int
    */
   public int getColumnNumber() {
-    return this.columnNumber;
+    return (int) this.position;
   } // -- int getColumnNumber()
 
   /**
@@ -91,7 +116,7 @@ public final class InputLocation
    * @return int
    */
   public int getLineNumber() {
-    return this.lineNumber;
+    return (int) (this.position >> 32);
   } // -- int getLineNumber()
 
   /**
@@ -115,9 +140,14 @@ public final class InputLocation
     }
   } // -- InputLocation getLocation( Object )
 
-  /** @return Map */
+  /**
+   * Gets the nested locations. The returned map is a live view, changes to it are reflected by this
+   * location and vice versa.
+   *
+   * @return Map
+   */
   public java.util.Map<Object, InputLocation> getLocations() {
-    return locations;
+    return (locationCount > 0) ? new LocationsView() : null;
   } // -- java.util.Map<Object, InputLocation> getLocations()
 
   /**
@@ -149,10 +179,7 @@ public final class InputLocation
    */
   public void setOtherLocation(Object key, InputLocation location) {
     if (location != null) {
-      if (this.locations == null) {
-        this.locations = new java.util.LinkedHashMap<Object, InputLocation>();
-      }
-      this.locations.put(key, location);
+      putLocation(key, location);
     }
   } // -- void setOtherLocation( Object, InputLocation )
 
@@ -161,9 +188,97 @@ public final class InputLocation
    * @return InputLocation
    */
   private InputLocation getOtherLocation(Object key) {
-    return (locations != null) ? locations.get(key) : null;
+    int index = indexOf(key);
+    return (index >= 0) ? locationValues[index] : null;
   } // -- InputLocation getOtherLocation( Object )
 
+  /**
+   * @param key
+   * @param location
+   * @return the previous location for the key, if any
+   */
+  private InputLocation putLocation(Object key, InputLocation location) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      InputLocation previous = locationValues[index];
+      locationValues[index] = location;
+      return previous;
+    }
+
+    if (locationKeys == null) {
+      locationKeys = new Object[2];
+      locationValues = new InputLocation[2];
+    } else if (locationCount == locationKeys.length) {
+      locationKeys = java.util.Arrays.copyOf(locationKeys, locationCount * 2);
+      locationValues = java.util.Arrays.copyOf(locationValues, locationCount * 2);
+    }
+    locationKeys[locationCount] = key;
+    locationValues[locationCount] = location;
+    locationCount++;
+    if (locationIndex != null) {
+      locationIndex.put(key, Integer.valueOf(locationCount - 1));
+    } else if (locationCount > LINEAR_LOOKUP_LIMIT) {
+      reindex();
+    }
+    return null;
+  } // -- InputLocation putLocation( Object, InputLocation )
+
+  /**
+   * @param key
+   * @return the array index of the key or -1 if not present
+   */
+  private int indexOf(Object key) {
+    java.util.Map<Object, Integer> index = locationIndex;
+    if (index != null) {
+      Integer i = index.get(key);
+      return (i != null) ? i.intValue() : -1;
+    }
+
+    for (int i = 0; i < locationCount; i++) {
+      if (java.util.Objects.equals(key, locationKeys[i])) {
+        return i;
+      }
+    }
+    return -1;
+  } // -- int indexOf( Object )
+
+  /** Rebuilds the index of the nested locations, or drops it if they are few enough. */
+  private void reindex() {
+    if (locationCount <= LINEAR_LOOKUP_LIMIT) {
+      locationIndex = null;
+      return;
+    }
+
+    java.util.Map<Object, Integer> index =
+        new java.util.HashMap<Object, Integer>(locationCount * 2);
+    for (int i = 0; i < locationCount; i++) {
+      index.putIfAbsent(locationKeys[i], Integer.valueOf(i));
+    }
+    locationIndex = index;
+  } // -- void reindex()
+
+  /**
+   * @param index
+   */
+  private void removeLocation(int index) {
+    int tail = locationCount - index - 1;
+    System.arraycopy(locationKeys, index + 1, locationKeys, index, tail);
+    System.arraycopy(locationValues, index + 1, locationValues, index, tail);
+    locationCount--;
+    locationKeys[locationCount] = null;
+    locationValues[locationCount] = null;
+    reindex();
+  } // -- void removeLocation( int )
+
+  /**
+   * @param lineNumber
+   * @param columnNumber
+   * @return the line and column number packed into a long
+   */
+  private static long pack(int lineNumber, int columnNumber) {
+    return ((long) lineNumber << 32) | (columnNumber & 0xFFFFFFFFL);
+  } // -- long pack( int, int )
+
   /**
    * Get the source field.
    *
@@ -189,22 +304,19 @@ public final class InputLocation
       return source;
     }
 
-    InputLocation result =
-        new InputLocation(target.getLineNumber(), target.getColumnNumber(), target.getSource());
+    InputLocation result = new InputLocation(target.position, target.getSource());
 
-    java.util.Map<Object, InputLocation> locations;
-    java.util.Map<Object, InputLocation> sourceLocations = source.getLocations();
-    java.util.Map<Object, InputLocation> targetLocations = target.getLocations();
-    if (sourceLocations == null) {
-      locations = targetLocations;
-    } else if (targetLocations == null) {
-      locations = sourceLocations;
+    if (source.locationCount == 0) {
+      result.copyLocations(target);
+    } else if (target.locationCount == 0) {
+      result.copyLocations(source);
     } else {
-      locations = new java.util.LinkedHashMap();
-      locations.putAll(sourceDominant ? targetLocations : sourceLocations);
-      locations.putAll(sourceDominant ? sourceLocations : targetLocations);
+      result.copyLocations(sourceDominant ? target : source);
+      InputLocation dominant = sourceDominant ? source : target;
+      for (int i = 0; i < dominant.locationCount; i++) {
+        result.putLocation(dominant.locationKeys[i], dominant.locationValues[i]);
+      }
     }
-    result.setLocations(locations);
 
     return result;
   } // -- InputLocation merge( InputLocation, InputLocation, boolean )
@@ -225,39 +337,148 @@ public final class InputLocation
       return source;
     }
 
-    InputLocation result =
-        new InputLocation(target.getLineNumber(), target.getColumnNumber(), target.getSource());
+    InputLocation result = new InputLocation(target.position, target.getSource());
 
-    java.util.Map<Object, InputLocation> locations;
-    java.util.Map<Object, InputLocation> sourceLocations = source.getLocations();
-    java.util.Map<Object, InputLocation> targetLocations = target.getLocations();
-    if (sourceLocations == null) {
-      locations = targetLocations;
-    } else if (targetLocations == null) {
-      locations = sourceLocations;
+    if (source.locationCount == 0) {
+      result.copyLocations(target);
+    } else if (target.locationCount == 0) {
+      result.copyLocations(source);
     } else {
-      locations = new java.util.LinkedHashMap<Object, InputLocation>();
+      int size = indices.size();
+      result.locationKeys = new Object[Math.max(size, 2)];
+      result.locationValues = new InputLocation[Math.max(size, 2)];
       for (java.util.Iterator<Integer> it = indices.iterator(); it.hasNext(); ) {
         InputLocation location;
         Integer index = it.next();
         if (index.intValue() < 0) {
-          location = sourceLocations.get(Integer.valueOf(~index.intValue()));
+          location = source.getOtherLocation(Integer.valueOf(~index.intValue()));
         } else {
-          location = targetLocations.get(index);
+          location = target.getOtherLocation(index);
         }
-        locations.put(Integer.valueOf(locations.size()), location);
+        // keys are dense, so no need to look them up first
+        int i = result.locationCount++;
+        result.locationKeys[i] = Integer.valueOf(i);
+        result.locationValues[i] = location;
       }
+      result.reindex();
     }
-    result.setLocations(locations);
 
     return result;
   } // -- InputLocation merge( InputLocation, InputLocation, java.util.Collection )
 
   /** @param locations */
   public void setLocations(java.util.Map<Object, InputLocation> locations) {
-    this.locations = locations;
+    this.locationKeys = null;
+    this.locationValues = null;
+    this.locationCount = 0;
+    this.locationIndex = null;
+    if (locations != null) {
+      for (java.util.Map.Entry<Object, InputLocation> entry : locations.entrySet()) {
+        putLocation(entry.getKey(), entry.getValue());
+      }
+    }
   } // -- void setLocations( java.util.Map )
 
+  /**
+   * Replaces the nested locations of this location with (a copy of) those of the given one.
+   *
+   * @param other
+   */
+  private void copyLocations(InputLocation other) {
+    if (other.locationCount > 0) {
+      this.locationKeys = java.util.Arrays.copyOf(other.locationKeys, other.locationCount);
+      this.locationValues = java.util.Arrays.copyOf(other.locationValues, other.locationCount);
+      this.locationCount = other.locationCount;
+    }
+    reindex();
+  } // -- void copyLocations( InputLocation )
+
+  /** Live map view of the nested locations. */
+  private class LocationsView extends java.util.AbstractMap<Object, InputLocation> {
+
+    @Override
+    public int size() {
+      return locationCount;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return indexOf(key) >= 0;
+    }
+
+    @Override
+    public InputLocation get(Object key) {
+      return getOtherLocation(key);
+    }
+
+    @Override
+    public InputLocation put(Object key, InputLocation value) {
+      return putLocation(key, value);
+    }
+
+    @Override
+    public InputLocation remove(Object key) {
+      int index = indexOf(key);
+      if (index < 0) {
+        return null;
+      }
+      InputLocation previous = locationValues[index];
+      removeLocation(index);
+      return previous;
+    }
+
+    @Override
+    public java.util.Set<java.util.Map.Entry<Object, InputLocation>> entrySet() {
+      return new java.util.AbstractSet<java.util.Map.Entry<Object, InputLocation>>() {
+        @Override
+        public int size() {
+          return locationCount;
+        }
+
+        @Override
+        public java.util.Iterator<java.util.Map.Entry<Object, InputLocation>> iterator() {
+          return new java.util.Iterator<java.util.Map.Entry<Object, InputLocation>>() {
+            private int next;
+
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+              return next < locationCount;
+            }
+
+            @Override
+            public java.util.Map.Entry<Object, InputLocation> next() {
+              if (next >= locationCount) {
+                throw new java.util.NoSuchElementException();
+              }
+              last = next++;
+              final int index = last;
+              return new java.util.AbstractMap.SimpleEntry<Object, InputLocation>(
+                  locationKeys[index], locationValues[index]) {
+                @Override
+                public InputLocation setValue(InputLocation value) {
+                  locationValues[index] = value;
+                  return super.setValue(value);
+                }
+              };
+            }
+
+            @Override
+            public void remove() {
+              if (last < 0) {
+                throw new IllegalStateException();
+              }
+              removeLocation(last);
+              next = last;
+              last = -1;
+            }
+          };
+        }
+      };
+    }
+  }
+
   // -----------------/
   // - Inner Classes -/
   // -----------------/
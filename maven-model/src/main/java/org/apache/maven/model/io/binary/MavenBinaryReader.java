@@ -0,0 +1,1364 @@
+package org.apache.maven.model.io.binary;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.apache.maven.model.Activation;
+import org.apache.maven.model.ActivationFile;
+import org.apache.maven.model.ActivationOS;
+import org.apache.maven.model.ActivationProperty;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.CiManagement;
+import org.apache.maven.model.Contributor;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.DeploymentRepository;
+import org.apache.maven.model.Developer;
+import org.apache.maven.model.DistributionManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.IssueManagement;
+import org.apache.maven.model.License;
+import org.apache.maven.model.MailingList;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Notifier;
+import org.apache.maven.model.Organization;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.Prerequisites;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.Relocation;
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.model.ReportSet;
+import org.apache.maven.model.Reporting;
+import org.apache.maven.model.Repository;
+import org.apache.maven.model.RepositoryPolicy;
+import org.apache.maven.model.Resource;
+import org.apache.maven.model.Scm;
+import org.apache.maven.model.Site;
+import org.apache.maven.model.InputLocation;
+import org.apache.maven.model.InputLocationTracker;
+import org.apache.maven.model.InputSource;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Reads models written by {@link MavenBinaryWriter}. Input locations are restored if the document
+ * includes them, input sources are shared by all locations referring to them.
+ *
+ * @since 4.0.0
+ */
+public class MavenBinaryReader {
+
+  // -----------/
+  // - Methods -/
+  // -----------/
+
+  /**
+   * Method read. The stream is not closed and bytes following the model may have been consumed.
+   *
+   * @param stream
+   * @throws IOException If the stream could not be read or does not hold a model of the current
+   *     format version.
+   * @return Model
+   */
+  public Model read(InputStream stream) throws IOException {
+    BinaryInput in = new BinaryInput(stream);
+    if (in.readFixedInt() != MavenBinaryWriter.MAGIC) {
+      throw new IOException("Not a binary model");
+    }
+    int version = in.readInt();
+    if (version != MavenBinaryWriter.FORMAT_VERSION) {
+      throw new IOException(
+          "Unsupported binary model format version "
+              + version
+              + ", expected "
+              + MavenBinaryWriter.FORMAT_VERSION);
+    }
+    in.setLocationTracking((in.readInt() & MavenBinaryWriter.FLAG_LOCATIONS) != 0);
+    return readModel(in);
+  } // -- Model read( InputStream )
+
+  /**
+   * Method readActivation.
+   *
+   * @param in
+   * @throws IOException
+   * @return Activation
+   */
+  private Activation readActivation(BinaryInput in) throws IOException {
+    Activation activation = new Activation();
+    activation.setActiveByDefault(in.readBoolean());
+    activation.setJdk(in.readString());
+    if (in.readBoolean()) {
+      activation.setOs(readActivationOS(in));
+    }
+    if (in.readBoolean()) {
+      activation.setProperty(readActivationProperty(in));
+    }
+    if (in.readBoolean()) {
+      activation.setFile(readActivationFile(in));
+    }
+    if (in.isLocationTracking()) {
+      readLocations(activation, in);
+    }
+    return activation;
+  } // -- Activation readActivation( BinaryInput )
+
+  /**
+   * Method readActivationFile.
+   *
+   * @param in
+   * @throws IOException
+   * @return ActivationFile
+   */
+  private ActivationFile readActivationFile(BinaryInput in) throws IOException {
+    ActivationFile activationFile = new ActivationFile();
+    activationFile.setMissing(in.readString());
+    activationFile.setExists(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(activationFile, in);
+    }
+    return activationFile;
+  } // -- ActivationFile readActivationFile( BinaryInput )
+
+  /**
+   * Method readActivationOS.
+   *
+   * @param in
+   * @throws IOException
+   * @return ActivationOS
+   */
+  private ActivationOS readActivationOS(BinaryInput in) throws IOException {
+    ActivationOS activationOS = new ActivationOS();
+    activationOS.setName(in.readString());
+    activationOS.setFamily(in.readString());
+    activationOS.setArch(in.readString());
+    activationOS.setVersion(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(activationOS, in);
+    }
+    return activationOS;
+  } // -- ActivationOS readActivationOS( BinaryInput )
+
+  /**
+   * Method readActivationProperty.
+   *
+   * @param in
+   * @throws IOException
+   * @return ActivationProperty
+   */
+  private ActivationProperty readActivationProperty(BinaryInput in) throws IOException {
+    ActivationProperty activationProperty = new ActivationProperty();
+    activationProperty.setName(in.readString());
+    activationProperty.setValue(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(activationProperty, in);
+    }
+    return activationProperty;
+  } // -- ActivationProperty readActivationProperty( BinaryInput )
+
+  /**
+   * Method readBuild.
+   *
+   * @param in
+   * @throws IOException
+   * @return Build
+   */
+  private Build readBuild(BinaryInput in) throws IOException {
+    Build build = new Build();
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Plugin> plugins = new java.util.ArrayList<Plugin>(size);
+        for (int i = 0; i < size; i++) {
+          plugins.add(readPlugin(in));
+        }
+        build.setPlugins(plugins);
+      }
+    }
+    if (in.readBoolean()) {
+      build.setPluginManagement(readPluginManagement(in));
+    }
+    build.setDefaultGoal(in.readString());
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Resource> resources = new java.util.ArrayList<Resource>(size);
+        for (int i = 0; i < size; i++) {
+          resources.add(readResource(in));
+        }
+        build.setResources(resources);
+      }
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Resource> testResources = new java.util.ArrayList<Resource>(size);
+        for (int i = 0; i < size; i++) {
+          testResources.add(readResource(in));
+        }
+        build.setTestResources(testResources);
+      }
+    }
+    build.setDirectory(in.readString());
+    build.setFinalName(in.readString());
+    build.setFilters(in.readStrings());
+    build.setSourceDirectory(in.readString());
+    build.setScriptSourceDirectory(in.readString());
+    build.setTestSourceDirectory(in.readString());
+    build.setOutputDirectory(in.readString());
+    build.setTestOutputDirectory(in.readString());
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Extension> extensions = new java.util.ArrayList<Extension>(size);
+        for (int i = 0; i < size; i++) {
+          extensions.add(readExtension(in));
+        }
+        build.setExtensions(extensions);
+      }
+    }
+    if (in.isLocationTracking()) {
+      readLocations(build, in);
+    }
+    return build;
+  } // -- Build readBuild( BinaryInput )
+
+  /**
+   * Method readBuildBase.
+   *
+   * @param in
+   * @throws IOException
+   * @return BuildBase
+   */
+  private BuildBase readBuildBase(BinaryInput in) throws IOException {
+    BuildBase buildBase = new BuildBase();
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Plugin> plugins = new java.util.ArrayList<Plugin>(size);
+        for (int i = 0; i < size; i++) {
+          plugins.add(readPlugin(in));
+        }
+        buildBase.setPlugins(plugins);
+      }
+    }
+    if (in.readBoolean()) {
+      buildBase.setPluginManagement(readPluginManagement(in));
+    }
+    buildBase.setDefaultGoal(in.readString());
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Resource> resources = new java.util.ArrayList<Resource>(size);
+        for (int i = 0; i < size; i++) {
+          resources.add(readResource(in));
+        }
+        buildBase.setResources(resources);
+      }
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Resource> testResources = new java.util.ArrayList<Resource>(size);
+        for (int i = 0; i < size; i++) {
+          testResources.add(readResource(in));
+        }
+        buildBase.setTestResources(testResources);
+      }
+    }
+    buildBase.setDirectory(in.readString());
+    buildBase.setFinalName(in.readString());
+    buildBase.setFilters(in.readStrings());
+    if (in.isLocationTracking()) {
+      readLocations(buildBase, in);
+    }
+    return buildBase;
+  } // -- BuildBase readBuildBase( BinaryInput )
+
+  /**
+   * Method readCiManagement.
+   *
+   * @param in
+   * @throws IOException
+   * @return CiManagement
+   */
+  private CiManagement readCiManagement(BinaryInput in) throws IOException {
+    CiManagement ciManagement = new CiManagement();
+    ciManagement.setSystem(in.readString());
+    ciManagement.setUrl(in.readString());
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Notifier> notifiers = new java.util.ArrayList<Notifier>(size);
+        for (int i = 0; i < size; i++) {
+          notifiers.add(readNotifier(in));
+        }
+        ciManagement.setNotifiers(notifiers);
+      }
+    }
+    if (in.isLocationTracking()) {
+      readLocations(ciManagement, in);
+    }
+    return ciManagement;
+  } // -- CiManagement readCiManagement( BinaryInput )
+
+  /**
+   * Method readContributor.
+   *
+   * @param in
+   * @throws IOException
+   * @return Contributor
+   */
+  private Contributor readContributor(BinaryInput in) throws IOException {
+    Contributor contributor = new Contributor();
+    contributor.setName(in.readString());
+    contributor.setEmail(in.readString());
+    contributor.setUrl(in.readString());
+    contributor.setOrganization(in.readString());
+    contributor.setOrganizationUrl(in.readString());
+    contributor.setRoles(in.readStrings());
+    contributor.setTimezone(in.readString());
+    contributor.setProperties(in.readProperties());
+    if (in.isLocationTracking()) {
+      readLocations(contributor, in);
+    }
+    return contributor;
+  } // -- Contributor readContributor( BinaryInput )
+
+  /**
+   * Method readDependency.
+   *
+   * @param in
+   * @throws IOException
+   * @return Dependency
+   */
+  private Dependency readDependency(BinaryInput in) throws IOException {
+    Dependency dependency = new Dependency();
+    dependency.setGroupId(in.readString());
+    dependency.setArtifactId(in.readString());
+    dependency.setVersion(in.readString());
+    dependency.setType(in.readString());
+    dependency.setClassifier(in.readString());
+    dependency.setScope(in.readString());
+    dependency.setSystemPath(in.readString());
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Exclusion> exclusions = new java.util.ArrayList<Exclusion>(size);
+        for (int i = 0; i < size; i++) {
+          exclusions.add(readExclusion(in));
+        }
+        dependency.setExclusions(exclusions);
+      }
+    }
+    dependency.setOptional(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(dependency, in);
+    }
+    return dependency;
+  } // -- Dependency readDependency( BinaryInput )
+
+  /**
+   * Method readDependencyManagement.
+   *
+   * @param in
+   * @throws IOException
+   * @return DependencyManagement
+   */
+  private DependencyManagement readDependencyManagement(BinaryInput in) throws IOException {
+    DependencyManagement dependencyManagement = new DependencyManagement();
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Dependency> dependencies = new java.util.ArrayList<Dependency>(size);
+        for (int i = 0; i < size; i++) {
+          dependencies.add(readDependency(in));
+        }
+        dependencyManagement.setDependencies(dependencies);
+      }
+    }
+    if (in.isLocationTracking()) {
+      readLocations(dependencyManagement, in);
+    }
+    return dependencyManagement;
+  } // -- DependencyManagement readDependencyManagement( BinaryInput )
+
+  /**
+   * Method readDeploymentRepository.
+   *
+   * @param in
+   * @throws IOException
+   * @return DeploymentRepository
+   */
+  private DeploymentRepository readDeploymentRepository(BinaryInput in) throws IOException {
+    DeploymentRepository deploymentRepository = new DeploymentRepository();
+    deploymentRepository.setId(in.readString());
+    deploymentRepository.setName(in.readString());
+    deploymentRepository.setUrl(in.readString());
+    deploymentRepository.setLayout(in.readString());
+    if (in.readBoolean()) {
+      deploymentRepository.setReleases(readRepositoryPolicy(in));
+    }
+    if (in.readBoolean()) {
+      deploymentRepository.setSnapshots(readRepositoryPolicy(in));
+    }
+    deploymentRepository.setUniqueVersion(in.readBoolean());
+    if (in.isLocationTracking()) {
+      readLocations(deploymentRepository, in);
+    }
+    return deploymentRepository;
+  } // -- DeploymentRepository readDeploymentRepository( BinaryInput )
+
+  /**
+   * Method readDeveloper.
+   *
+   * @param in
+   * @throws IOException
+   * @return Developer
+   */
+  private Developer readDeveloper(BinaryInput in) throws IOException {
+    Developer developer = new Developer();
+    developer.setName(in.readString());
+    developer.setEmail(in.readString());
+    developer.setUrl(in.readString());
+    developer.setOrganization(in.readString());
+    developer.setOrganizationUrl(in.readString());
+    developer.setRoles(in.readStrings());
+    developer.setTimezone(in.readString());
+    developer.setProperties(in.readProperties());
+    developer.setId(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(developer, in);
+    }
+    return developer;
+  } // -- Developer readDeveloper( BinaryInput )
+
+  /**
+   * Method readDistributionManagement.
+   *
+   * @param in
+   * @throws IOException
+   * @return DistributionManagement
+   */
+  private DistributionManagement readDistributionManagement(BinaryInput in) throws IOException {
+    DistributionManagement distributionManagement = new DistributionManagement();
+    if (in.readBoolean()) {
+      distributionManagement.setRepository(readDeploymentRepository(in));
+    }
+    if (in.readBoolean()) {
+      distributionManagement.setSnapshotRepository(readDeploymentRepository(in));
+    }
+    if (in.readBoolean()) {
+      distributionManagement.setSite(readSite(in));
+    }
+    distributionManagement.setDownloadUrl(in.readString());
+    if (in.readBoolean()) {
+      distributionManagement.setRelocation(readRelocation(in));
+    }
+    distributionManagement.setStatus(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(distributionManagement, in);
+    }
+    return distributionManagement;
+  } // -- DistributionManagement readDistributionManagement( BinaryInput )
+
+  /**
+   * Method readExclusion.
+   *
+   * @param in
+   * @throws IOException
+   * @return Exclusion
+   */
+  private Exclusion readExclusion(BinaryInput in) throws IOException {
+    Exclusion exclusion = new Exclusion();
+    exclusion.setGroupId(in.readString());
+    exclusion.setArtifactId(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(exclusion, in);
+    }
+    return exclusion;
+  } // -- Exclusion readExclusion( BinaryInput )
+
+  /**
+   * Method readExtension.
+   *
+   * @param in
+   * @throws IOException
+   * @return Extension
+   */
+  private Extension readExtension(BinaryInput in) throws IOException {
+    Extension extension = new Extension();
+    extension.setGroupId(in.readString());
+    extension.setArtifactId(in.readString());
+    extension.setVersion(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(extension, in);
+    }
+    return extension;
+  } // -- Extension readExtension( BinaryInput )
+
+  /**
+   * Method readIssueManagement.
+   *
+   * @param in
+   * @throws IOException
+   * @return IssueManagement
+   */
+  private IssueManagement readIssueManagement(BinaryInput in) throws IOException {
+    IssueManagement issueManagement = new IssueManagement();
+    issueManagement.setSystem(in.readString());
+    issueManagement.setUrl(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(issueManagement, in);
+    }
+    return issueManagement;
+  } // -- IssueManagement readIssueManagement( BinaryInput )
+
+  /**
+   * Method readLicense.
+   *
+   * @param in
+   * @throws IOException
+   * @return License
+   */
+  private License readLicense(BinaryInput in) throws IOException {
+    License license = new License();
+    license.setName(in.readString());
+    license.setUrl(in.readString());
+    license.setDistribution(in.readString());
+    license.setComments(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(license, in);
+    }
+    return license;
+  } // -- License readLicense( BinaryInput )
+
+  /**
+   * Method readMailingList.
+   *
+   * @param in
+   * @throws IOException
+   * @return MailingList
+   */
+  private MailingList readMailingList(BinaryInput in) throws IOException {
+    MailingList mailingList = new MailingList();
+    mailingList.setName(in.readString());
+    mailingList.setSubscribe(in.readString());
+    mailingList.setUnsubscribe(in.readString());
+    mailingList.setPost(in.readString());
+    mailingList.setArchive(in.readString());
+    mailingList.setOtherArchives(in.readStrings());
+    if (in.isLocationTracking()) {
+      readLocations(mailingList, in);
+    }
+    return mailingList;
+  } // -- MailingList readMailingList( BinaryInput )
+
+  /**
+   * Method readModel.
+   *
+   * @param in
+   * @throws IOException
+   * @return Model
+   */
+  private Model readModel(BinaryInput in) throws IOException {
+    Model model = new Model();
+    model.setModules(in.readStrings());
+    if (in.readBoolean()) {
+      model.setDistributionManagement(readDistributionManagement(in));
+    }
+    model.setProperties(in.readProperties());
+    if (in.readBoolean()) {
+      model.setDependencyManagement(readDependencyManagement(in));
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Dependency> dependencies = new java.util.ArrayList<Dependency>(size);
+        for (int i = 0; i < size; i++) {
+          dependencies.add(readDependency(in));
+        }
+        model.setDependencies(dependencies);
+      }
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Repository> repositories = new java.util.ArrayList<Repository>(size);
+        for (int i = 0; i < size; i++) {
+          repositories.add(readRepository(in));
+        }
+        model.setRepositories(repositories);
+      }
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Repository> pluginRepositories = new java.util.ArrayList<Repository>(size);
+        for (int i = 0; i < size; i++) {
+          pluginRepositories.add(readRepository(in));
+        }
+        model.setPluginRepositories(pluginRepositories);
+      }
+    }
+    model.setReports(in.readDom());
+    if (in.readBoolean()) {
+      model.setReporting(readReporting(in));
+    }
+    model.setModelVersion(in.readString());
+    if (in.readBoolean()) {
+      model.setParent(readParent(in));
+    }
+    model.setGroupId(in.readString());
+    model.setArtifactId(in.readString());
+    model.setVersion(in.readString());
+    model.setPackaging(in.readString());
+    model.setName(in.readString());
+    model.setDescription(in.readString());
+    model.setUrl(in.readString());
+    model.setChildProjectUrlInheritAppendPath(in.readString());
+    model.setInceptionYear(in.readString());
+    if (in.readBoolean()) {
+      model.setOrganization(readOrganization(in));
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<License> licenses = new java.util.ArrayList<License>(size);
+        for (int i = 0; i < size; i++) {
+          licenses.add(readLicense(in));
+        }
+        model.setLicenses(licenses);
+      }
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Developer> developers = new java.util.ArrayList<Developer>(size);
+        for (int i = 0; i < size; i++) {
+          developers.add(readDeveloper(in));
+        }
+        model.setDevelopers(developers);
+      }
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Contributor> contributors = new java.util.ArrayList<Contributor>(size);
+        for (int i = 0; i < size; i++) {
+          contributors.add(readContributor(in));
+        }
+        model.setContributors(contributors);
+      }
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<MailingList> mailingLists = new java.util.ArrayList<MailingList>(size);
+        for (int i = 0; i < size; i++) {
+          mailingLists.add(readMailingList(in));
+        }
+        model.setMailingLists(mailingLists);
+      }
+    }
+    if (in.readBoolean()) {
+      model.setPrerequisites(readPrerequisites(in));
+    }
+    if (in.readBoolean()) {
+      model.setScm(readScm(in));
+    }
+    if (in.readBoolean()) {
+      model.setIssueManagement(readIssueManagement(in));
+    }
+    if (in.readBoolean()) {
+      model.setCiManagement(readCiManagement(in));
+    }
+    if (in.readBoolean()) {
+      model.setBuild(readBuild(in));
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Profile> profiles = new java.util.ArrayList<Profile>(size);
+        for (int i = 0; i < size; i++) {
+          profiles.add(readProfile(in));
+        }
+        model.setProfiles(profiles);
+      }
+    }
+    model.setModelEncoding(in.readString());
+    model.setPomFile(in.readFile());
+    if (in.isLocationTracking()) {
+      readLocations(model, in);
+    }
+    return model;
+  } // -- Model readModel( BinaryInput )
+
+  /**
+   * Method readNotifier.
+   *
+   * @param in
+   * @throws IOException
+   * @return Notifier
+   */
+  private Notifier readNotifier(BinaryInput in) throws IOException {
+    Notifier notifier = new Notifier();
+    notifier.setType(in.readString());
+    notifier.setSendOnError(in.readBoolean());
+    notifier.setSendOnFailure(in.readBoolean());
+    notifier.setSendOnSuccess(in.readBoolean());
+    notifier.setSendOnWarning(in.readBoolean());
+    notifier.setAddress(in.readString());
+    notifier.setConfiguration(in.readProperties());
+    if (in.isLocationTracking()) {
+      readLocations(notifier, in);
+    }
+    return notifier;
+  } // -- Notifier readNotifier( BinaryInput )
+
+  /**
+   * Method readOrganization.
+   *
+   * @param in
+   * @throws IOException
+   * @return Organization
+   */
+  private Organization readOrganization(BinaryInput in) throws IOException {
+    Organization organization = new Organization();
+    organization.setName(in.readString());
+    organization.setUrl(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(organization, in);
+    }
+    return organization;
+  } // -- Organization readOrganization( BinaryInput )
+
+  /**
+   * Method readParent.
+   *
+   * @param in
+   * @throws IOException
+   * @return Parent
+   */
+  private Parent readParent(BinaryInput in) throws IOException {
+    Parent parent = new Parent();
+    parent.setGroupId(in.readString());
+    parent.setArtifactId(in.readString());
+    parent.setVersion(in.readString());
+    parent.setRelativePath(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(parent, in);
+    }
+    return parent;
+  } // -- Parent readParent( BinaryInput )
+
+  /**
+   * Method readPlugin.
+   *
+   * @param in
+   * @throws IOException
+   * @return Plugin
+   */
+  private Plugin readPlugin(BinaryInput in) throws IOException {
+    Plugin plugin = new Plugin();
+    plugin.setInherited(in.readString());
+    plugin.setConfiguration(in.readDom());
+    if (!in.readBoolean()) {
+      plugin.unsetInheritanceApplied();
+    }
+    plugin.setGroupId(in.readString());
+    plugin.setArtifactId(in.readString());
+    plugin.setVersion(in.readString());
+    plugin.setExtensions(in.readString());
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<PluginExecution> executions = new java.util.ArrayList<PluginExecution>(size);
+        for (int i = 0; i < size; i++) {
+          executions.add(readPluginExecution(in));
+        }
+        plugin.setExecutions(executions);
+      }
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Dependency> dependencies = new java.util.ArrayList<Dependency>(size);
+        for (int i = 0; i < size; i++) {
+          dependencies.add(readDependency(in));
+        }
+        plugin.setDependencies(dependencies);
+      }
+    }
+    plugin.setGoals(in.readDom());
+    if (in.isLocationTracking()) {
+      readLocations(plugin, in);
+    }
+    return plugin;
+  } // -- Plugin readPlugin( BinaryInput )
+
+  /**
+   * Method readPluginExecution.
+   *
+   * @param in
+   * @throws IOException
+   * @return PluginExecution
+   */
+  private PluginExecution readPluginExecution(BinaryInput in) throws IOException {
+    PluginExecution pluginExecution = new PluginExecution();
+    pluginExecution.setInherited(in.readString());
+    pluginExecution.setConfiguration(in.readDom());
+    if (!in.readBoolean()) {
+      pluginExecution.unsetInheritanceApplied();
+    }
+    pluginExecution.setId(in.readString());
+    pluginExecution.setPhase(in.readString());
+    pluginExecution.setPriority(in.readInt());
+    pluginExecution.setGoals(in.readStrings());
+    if (in.isLocationTracking()) {
+      readLocations(pluginExecution, in);
+    }
+    return pluginExecution;
+  } // -- PluginExecution readPluginExecution( BinaryInput )
+
+  /**
+   * Method readPluginManagement.
+   *
+   * @param in
+   * @throws IOException
+   * @return PluginManagement
+   */
+  private PluginManagement readPluginManagement(BinaryInput in) throws IOException {
+    PluginManagement pluginManagement = new PluginManagement();
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Plugin> plugins = new java.util.ArrayList<Plugin>(size);
+        for (int i = 0; i < size; i++) {
+          plugins.add(readPlugin(in));
+        }
+        pluginManagement.setPlugins(plugins);
+      }
+    }
+    if (in.isLocationTracking()) {
+      readLocations(pluginManagement, in);
+    }
+    return pluginManagement;
+  } // -- PluginManagement readPluginManagement( BinaryInput )
+
+  /**
+   * Method readPrerequisites.
+   *
+   * @param in
+   * @throws IOException
+   * @return Prerequisites
+   */
+  private Prerequisites readPrerequisites(BinaryInput in) throws IOException {
+    Prerequisites prerequisites = new Prerequisites();
+    prerequisites.setMaven(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(prerequisites, in);
+    }
+    return prerequisites;
+  } // -- Prerequisites readPrerequisites( BinaryInput )
+
+  /**
+   * Method readProfile.
+   *
+   * @param in
+   * @throws IOException
+   * @return Profile
+   */
+  private Profile readProfile(BinaryInput in) throws IOException {
+    Profile profile = new Profile();
+    profile.setModules(in.readStrings());
+    if (in.readBoolean()) {
+      profile.setDistributionManagement(readDistributionManagement(in));
+    }
+    profile.setProperties(in.readProperties());
+    if (in.readBoolean()) {
+      profile.setDependencyManagement(readDependencyManagement(in));
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Dependency> dependencies = new java.util.ArrayList<Dependency>(size);
+        for (int i = 0; i < size; i++) {
+          dependencies.add(readDependency(in));
+        }
+        profile.setDependencies(dependencies);
+      }
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Repository> repositories = new java.util.ArrayList<Repository>(size);
+        for (int i = 0; i < size; i++) {
+          repositories.add(readRepository(in));
+        }
+        profile.setRepositories(repositories);
+      }
+    }
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<Repository> pluginRepositories = new java.util.ArrayList<Repository>(size);
+        for (int i = 0; i < size; i++) {
+          pluginRepositories.add(readRepository(in));
+        }
+        profile.setPluginRepositories(pluginRepositories);
+      }
+    }
+    profile.setReports(in.readDom());
+    if (in.readBoolean()) {
+      profile.setReporting(readReporting(in));
+    }
+    profile.setId(in.readString());
+    if (in.readBoolean()) {
+      profile.setActivation(readActivation(in));
+    }
+    if (in.readBoolean()) {
+      profile.setBuild(readBuildBase(in));
+    }
+    profile.setSource(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(profile, in);
+    }
+    return profile;
+  } // -- Profile readProfile( BinaryInput )
+
+  /**
+   * Method readRelocation.
+   *
+   * @param in
+   * @throws IOException
+   * @return Relocation
+   */
+  private Relocation readRelocation(BinaryInput in) throws IOException {
+    Relocation relocation = new Relocation();
+    relocation.setGroupId(in.readString());
+    relocation.setArtifactId(in.readString());
+    relocation.setVersion(in.readString());
+    relocation.setMessage(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(relocation, in);
+    }
+    return relocation;
+  } // -- Relocation readRelocation( BinaryInput )
+
+  /**
+   * Method readReportPlugin.
+   *
+   * @param in
+   * @throws IOException
+   * @return ReportPlugin
+   */
+  private ReportPlugin readReportPlugin(BinaryInput in) throws IOException {
+    ReportPlugin reportPlugin = new ReportPlugin();
+    reportPlugin.setInherited(in.readString());
+    reportPlugin.setConfiguration(in.readDom());
+    if (!in.readBoolean()) {
+      reportPlugin.unsetInheritanceApplied();
+    }
+    reportPlugin.setGroupId(in.readString());
+    reportPlugin.setArtifactId(in.readString());
+    reportPlugin.setVersion(in.readString());
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<ReportSet> reportSets = new java.util.ArrayList<ReportSet>(size);
+        for (int i = 0; i < size; i++) {
+          reportSets.add(readReportSet(in));
+        }
+        reportPlugin.setReportSets(reportSets);
+      }
+    }
+    if (in.isLocationTracking()) {
+      readLocations(reportPlugin, in);
+    }
+    return reportPlugin;
+  } // -- ReportPlugin readReportPlugin( BinaryInput )
+
+  /**
+   * Method readReportSet.
+   *
+   * @param in
+   * @throws IOException
+   * @return ReportSet
+   */
+  private ReportSet readReportSet(BinaryInput in) throws IOException {
+    ReportSet reportSet = new ReportSet();
+    reportSet.setInherited(in.readString());
+    reportSet.setConfiguration(in.readDom());
+    if (!in.readBoolean()) {
+      reportSet.unsetInheritanceApplied();
+    }
+    reportSet.setId(in.readString());
+    reportSet.setReports(in.readStrings());
+    if (in.isLocationTracking()) {
+      readLocations(reportSet, in);
+    }
+    return reportSet;
+  } // -- ReportSet readReportSet( BinaryInput )
+
+  /**
+   * Method readReporting.
+   *
+   * @param in
+   * @throws IOException
+   * @return Reporting
+   */
+  private Reporting readReporting(BinaryInput in) throws IOException {
+    Reporting reporting = new Reporting();
+    reporting.setExcludeDefaults(in.readString());
+    reporting.setOutputDirectory(in.readString());
+    {
+      int size = in.readSize();
+      if (size > 0) {
+        java.util.List<ReportPlugin> plugins = new java.util.ArrayList<ReportPlugin>(size);
+        for (int i = 0; i < size; i++) {
+          plugins.add(readReportPlugin(in));
+        }
+        reporting.setPlugins(plugins);
+      }
+    }
+    if (in.isLocationTracking()) {
+      readLocations(reporting, in);
+    }
+    return reporting;
+  } // -- Reporting readReporting( BinaryInput )
+
+  /**
+   * Method readRepository.
+   *
+   * @param in
+   * @throws IOException
+   * @return Repository
+   */
+  private Repository readRepository(BinaryInput in) throws IOException {
+    Repository repository = new Repository();
+    repository.setId(in.readString());
+    repository.setName(in.readString());
+    repository.setUrl(in.readString());
+    repository.setLayout(in.readString());
+    if (in.readBoolean()) {
+      repository.setReleases(readRepositoryPolicy(in));
+    }
+    if (in.readBoolean()) {
+      repository.setSnapshots(readRepositoryPolicy(in));
+    }
+    if (in.isLocationTracking()) {
+      readLocations(repository, in);
+    }
+    return repository;
+  } // -- Repository readRepository( BinaryInput )
+
+  /**
+   * Method readRepositoryPolicy.
+   *
+   * @param in
+   * @throws IOException
+   * @return RepositoryPolicy
+   */
+  private RepositoryPolicy readRepositoryPolicy(BinaryInput in) throws IOException {
+    RepositoryPolicy repositoryPolicy = new RepositoryPolicy();
+    repositoryPolicy.setEnabled(in.readString());
+    repositoryPolicy.setUpdatePolicy(in.readString());
+    repositoryPolicy.setChecksumPolicy(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(repositoryPolicy, in);
+    }
+    return repositoryPolicy;
+  } // -- RepositoryPolicy readRepositoryPolicy( BinaryInput )
+
+  /**
+   * Method readResource.
+   *
+   * @param in
+   * @throws IOException
+   * @return Resource
+   */
+  private Resource readResource(BinaryInput in) throws IOException {
+    Resource resource = new Resource();
+    resource.setIncludes(in.readStrings());
+    resource.setExcludes(in.readStrings());
+    resource.setDirectory(in.readString());
+    resource.setTargetPath(in.readString());
+    resource.setFiltering(in.readString());
+    resource.setMergeId(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(resource, in);
+    }
+    return resource;
+  } // -- Resource readResource( BinaryInput )
+
+  /**
+   * Method readScm.
+   *
+   * @param in
+   * @throws IOException
+   * @return Scm
+   */
+  private Scm readScm(BinaryInput in) throws IOException {
+    Scm scm = new Scm();
+    scm.setConnection(in.readString());
+    scm.setDeveloperConnection(in.readString());
+    scm.setTag(in.readString());
+    scm.setUrl(in.readString());
+    scm.setChildScmConnectionInheritAppendPath(in.readString());
+    scm.setChildScmDeveloperConnectionInheritAppendPath(in.readString());
+    scm.setChildScmUrlInheritAppendPath(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(scm, in);
+    }
+    return scm;
+  } // -- Scm readScm( BinaryInput )
+
+  /**
+   * Method readSite.
+   *
+   * @param in
+   * @throws IOException
+   * @return Site
+   */
+  private Site readSite(BinaryInput in) throws IOException {
+    Site site = new Site();
+    site.setId(in.readString());
+    site.setName(in.readString());
+    site.setUrl(in.readString());
+    site.setChildSiteUrlInheritAppendPath(in.readString());
+    if (in.isLocationTracking()) {
+      readLocations(site, in);
+    }
+    return site;
+  } // -- Site readSite( BinaryInput )
+
+  /**
+   * Method readLocations.
+   *
+   * @param tracker
+   * @param in
+   * @throws IOException
+   */
+  private void readLocations(InputLocationTracker tracker, BinaryInput in) throws IOException {
+    for (int i = 0, n = in.readSize(); i < n; i++) {
+      tracker.setLocation(in.readString(), in.readLocation());
+    }
+  } // -- void readLocations( InputLocationTracker, BinaryInput )
+
+  /** The buffered input of a single document, holding the string and source tables. */
+  private static final class BinaryInput {
+
+    private final InputStream stream;
+
+    private boolean locationTracking;
+
+    private final byte[] buffer = new byte[8192];
+
+    private int position;
+
+    private int limit;
+
+    private final List<String> strings = new ArrayList<>(256);
+
+    private final List<InputSource> sources = new ArrayList<>();
+
+    BinaryInput(InputStream stream) {
+      this.stream = stream;
+    }
+
+    boolean isLocationTracking() {
+      return locationTracking;
+    }
+
+    void setLocationTracking(boolean locationTracking) {
+      this.locationTracking = locationTracking;
+    }
+
+    int readByte() throws IOException {
+      if (position == limit) {
+        limit = stream.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+          limit = 0;
+          throw new EOFException("Unexpected end of binary model");
+        }
+      }
+      return buffer[position++] & 0xFF;
+    }
+
+    byte[] readBytes(int length) throws IOException {
+      if (length < 0) {
+        throw new IOException("Invalid length " + length);
+      }
+      int buffered = Math.min(length, limit - position);
+      byte[] bytes;
+      if (buffered == length) {
+        bytes = new byte[length];
+      } else {
+        // a corrupt length must not allocate more than the stream actually holds
+        byte[] rest = stream.readNBytes(length - buffered);
+        if (rest.length < length - buffered) {
+          throw new EOFException("Unexpected end of binary model");
+        }
+        bytes = new byte[length];
+        System.arraycopy(rest, 0, bytes, buffered, rest.length);
+      }
+      System.arraycopy(buffer, position, bytes, 0, buffered);
+      position += buffered;
+      return bytes;
+    }
+
+    int readFixedInt() throws IOException {
+      return (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+    }
+
+    int readInt() throws IOException {
+      int v = 0;
+      for (int shift = 0; ; shift += 7) {
+        int b = readByte();
+        v |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          break;
+        } else if (shift >= 28) {
+          throw new IOException("Malformed variable length integer");
+        }
+      }
+      return (v >>> 1) ^ -(v & 1);
+    }
+
+    /** Reads the number of elements of a list or map, or the length of a string. */
+    int readSize() throws IOException {
+      int size = readInt();
+      if (size < 0) {
+        throw new IOException("Invalid size " + size);
+      }
+      return size;
+    }
+
+    boolean readBoolean() throws IOException {
+      return readByte() != 0;
+    }
+
+    String readString() throws IOException {
+      int ref = readInt();
+      if (ref == 0) {
+        return null;
+      } else if (ref == 1) {
+        String value = new String(readBytes(readSize()), StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+      } else if (ref >= 2 && ref - 2 < strings.size()) {
+        return strings.get(ref - 2);
+      }
+      throw new IOException("Invalid string reference " + ref);
+    }
+
+    String readRequiredString() throws IOException {
+      String value = readString();
+      if (value == null) {
+        throw new IOException("Unexpected null string");
+      }
+      return value;
+    }
+
+    List<String> readStrings() throws IOException {
+      int size = readSize();
+      List<String> values = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        values.add(readString());
+      }
+      return values;
+    }
+
+    Properties readProperties() throws IOException {
+      Properties properties = new Properties();
+      for (int i = 0, n = readSize(); i < n; i++) {
+        String key = readRequiredString();
+        properties.setProperty(key, readRequiredString());
+      }
+      return properties;
+    }
+
+    File readFile() throws IOException {
+      String path = readString();
+      return path != null ? new File(path) : null;
+    }
+
+    Object readDom() throws IOException {
+      return readBoolean() ? readNode() : null;
+    }
+
+    private Xpp3Dom readNode() throws IOException {
+      Xpp3Dom dom = new Xpp3Dom(readRequiredString());
+      dom.setValue(readString());
+      for (int i = 0, n = readSize(); i < n; i++) {
+        String name = readRequiredString();
+        dom.setAttribute(name, readRequiredString());
+      }
+      if (locationTracking && readBoolean()) {
+        dom.setInputLocation(readLocation());
+      }
+      for (int i = 0, n = readSize(); i < n; i++) {
+        dom.addChild(readNode());
+      }
+      return dom;
+    }
+
+    InputLocation readLocation() throws IOException {
+      int lineNumber = readInt();
+      int columnNumber = readInt();
+      InputLocation location = new InputLocation(lineNumber, columnNumber, readSource());
+      for (int i = 0, n = readSize(); i < n; i++) {
+        Object key = readByte() == 0 ? (Object) readInt() : readString();
+        location.setLocation(key, readLocation());
+      }
+      return location;
+    }
+
+    private InputSource readSource() throws IOException {
+      int ref = readInt();
+      if (ref == 0) {
+        return null;
+      } else if (ref == 1) {
+        InputSource source = new InputSource();
+        source.setModelId(readString());
+        source.setLocation(readString());
+        sources.add(source);
+        return source;
+      } else if (ref >= 2 && ref - 2 < sources.size()) {
+        return sources.get(ref - 2);
+      }
+      throw new IOException("Invalid input source reference " + ref);
+    }
+  }
+}
@@ -0,0 +1,1432 @@
+package org.apache.maven.model.io.binary;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.apache.maven.model.Activation;
+import org.apache.maven.model.ActivationFile;
+import org.apache.maven.model.ActivationOS;
+import org.apache.maven.model.ActivationProperty;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.CiManagement;
+import org.apache.maven.model.Contributor;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.DeploymentRepository;
+import org.apache.maven.model.Developer;
+import org.apache.maven.model.DistributionManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.IssueManagement;
+import org.apache.maven.model.License;
+import org.apache.maven.model.MailingList;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Notifier;
+import org.apache.maven.model.Organization;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.Prerequisites;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.Relocation;
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.model.ReportSet;
+import org.apache.maven.model.Reporting;
+import org.apache.maven.model.Repository;
+import org.apache.maven.model.RepositoryPolicy;
+import org.apache.maven.model.Resource;
+import org.apache.maven.model.Scm;
+import org.apache.maven.model.Site;
+import org.apache.maven.model.InputLocation;
+import org.apache.maven.model.InputLocationTracker;
+import org.apache.maven.model.InputSource;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Writes models in a compact, versioned binary format meant for model caches and for exchanging
+ * models between processes, see {@link MavenBinaryReader}. Strings and input sources are written
+ * once per document and referenced by index afterwards, numbers are written as variable length
+ * integers and plugin configurations are written as plain {@link Xpp3Dom} trees. Input locations
+ * are only written if {@link #setLocationTracking(boolean) location tracking} is enabled.
+ *
+ * <p>The format is not meant for long term storage, readers reject documents written with a
+ * different {@link #FORMAT_VERSION format version}.
+ *
+ * @since 4.0.0
+ */
+public class MavenBinaryWriter {
+
+  // --------------------------/
+  // - Class/Member Variables -/
+  // --------------------------/
+
+  /** The magic number every document starts with, the ASCII characters {@code MVNB}. */
+  public static final int MAGIC = 0x4D564E42;
+
+  /** The version of the format, incremented on every incompatible change of the model or format. */
+  public static final int FORMAT_VERSION = 1;
+
+  /** The flag set in the document header if input locations are included. */
+  static final int FLAG_LOCATIONS = 1;
+
+  /** The location keys of {@link Activation}. */
+  private static final String[] ACTIVATION_LOCATION_KEYS = {"", "activeByDefault", "jdk"};
+
+  /** The location keys of {@link ActivationFile}. */
+  private static final String[] ACTIVATION_FILE_LOCATION_KEYS = {"", "missing", "exists"};
+
+  /** The location keys of {@link ActivationOS}. */
+  private static final String[] ACTIVATION_OS_LOCATION_KEYS = {
+    "", "name", "family", "arch", "version"
+  };
+
+  /** The location keys of {@link ActivationProperty}. */
+  private static final String[] ACTIVATION_PROPERTY_LOCATION_KEYS = {"", "name", "value"};
+
+  /** The location keys of {@link Build}. */
+  private static final String[] BUILD_LOCATION_KEYS = {
+    "", "sourceDirectory", "scriptSourceDirectory", "testSourceDirectory", "outputDirectory",
+    "testOutputDirectory", "defaultGoal", "directory", "finalName", "filters"
+  };
+
+  /** The location keys of {@link BuildBase}. */
+  private static final String[] BUILD_BASE_LOCATION_KEYS = {
+    "", "defaultGoal", "directory", "finalName", "filters"
+  };
+
+  /** The location keys of {@link CiManagement}. */
+  private static final String[] CI_MANAGEMENT_LOCATION_KEYS = {"", "system", "url"};
+
+  /** The location keys of {@link Contributor}. */
+  private static final String[] CONTRIBUTOR_LOCATION_KEYS = {
+    "", "name", "email", "url", "organization", "organizationUrl", "roles", "timezone",
+    "properties"
+  };
+
+  /** The location keys of {@link Dependency}. */
+  private static final String[] DEPENDENCY_LOCATION_KEYS = {
+    "", "groupId", "artifactId", "version", "type", "classifier", "scope", "systemPath", "optional"
+  };
+
+  /** The location keys of {@link DependencyManagement}. */
+  private static final String[] DEPENDENCY_MANAGEMENT_LOCATION_KEYS = {""};
+
+  /** The location keys of {@link DeploymentRepository}. */
+  private static final String[] DEPLOYMENT_REPOSITORY_LOCATION_KEYS = {
+    "", "uniqueVersion", "id", "name", "url", "layout"
+  };
+
+  /** The location keys of {@link Developer}. */
+  private static final String[] DEVELOPER_LOCATION_KEYS = {
+    "", "id", "name", "email", "url", "organization", "organizationUrl", "roles", "timezone",
+    "properties"
+  };
+
+  /** The location keys of {@link DistributionManagement}. */
+  private static final String[] DISTRIBUTION_MANAGEMENT_LOCATION_KEYS = {
+    "", "downloadUrl", "status"
+  };
+
+  /** The location keys of {@link Exclusion}. */
+  private static final String[] EXCLUSION_LOCATION_KEYS = {"", "groupId", "artifactId"};
+
+  /** The location keys of {@link Extension}. */
+  private static final String[] EXTENSION_LOCATION_KEYS = {"", "groupId", "artifactId", "version"};
+
+  /** The location keys of {@link IssueManagement}. */
+  private static final String[] ISSUE_MANAGEMENT_LOCATION_KEYS = {"", "system", "url"};
+
+  /** The location keys of {@link License}. */
+  private static final String[] LICENSE_LOCATION_KEYS = {
+    "", "name", "url", "distribution", "comments"
+  };
+
+  /** The location keys of {@link MailingList}. */
+  private static final String[] MAILING_LIST_LOCATION_KEYS = {
+    "", "name", "subscribe", "unsubscribe", "post", "archive", "otherArchives"
+  };
+
+  /** The location keys of {@link Model}. */
+  private static final String[] MODEL_LOCATION_KEYS = {
+    "", "childProjectUrlInheritAppendPath", "modelVersion", "groupId", "artifactId", "version",
+    "packaging", "name", "description", "url", "inceptionYear", "modules", "properties", "reports"
+  };
+
+  /** The location keys of {@link Notifier}. */
+  private static final String[] NOTIFIER_LOCATION_KEYS = {
+    "", "type", "sendOnError", "sendOnFailure", "sendOnSuccess", "sendOnWarning", "address",
+    "configuration"
+  };
+
+  /** The location keys of {@link Organization}. */
+  private static final String[] ORGANIZATION_LOCATION_KEYS = {"", "name", "url"};
+
+  /** The location keys of {@link Parent}. */
+  private static final String[] PARENT_LOCATION_KEYS = {
+    "", "groupId", "artifactId", "version", "relativePath"
+  };
+
+  /** The location keys of {@link Plugin}. */
+  private static final String[] PLUGIN_LOCATION_KEYS = {
+    "", "groupId", "artifactId", "version", "extensions", "goals", "inherited", "configuration"
+  };
+
+  /** The location keys of {@link PluginExecution}. */
+  private static final String[] PLUGIN_EXECUTION_LOCATION_KEYS = {
+    "", "id", "phase", "goals", "inherited", "configuration"
+  };
+
+  /** The location keys of {@link PluginManagement}. */
+  private static final String[] PLUGIN_MANAGEMENT_LOCATION_KEYS = {""};
+
+  /** The location keys of {@link Prerequisites}. */
+  private static final String[] PREREQUISITES_LOCATION_KEYS = {"", "maven"};
+
+  /** The location keys of {@link Profile}. */
+  private static final String[] PROFILE_LOCATION_KEYS = {
+    "", "id", "modules", "properties", "reports"
+  };
+
+  /** The location keys of {@link Relocation}. */
+  private static final String[] RELOCATION_LOCATION_KEYS = {
+    "", "groupId", "artifactId", "version", "message"
+  };
+
+  /** The location keys of {@link ReportPlugin}. */
+  private static final String[] REPORT_PLUGIN_LOCATION_KEYS = {
+    "", "groupId", "artifactId", "version", "inherited", "configuration"
+  };
+
+  /** The location keys of {@link ReportSet}. */
+  private static final String[] REPORT_SET_LOCATION_KEYS = {
+    "", "id", "reports", "inherited", "configuration"
+  };
+
+  /** The location keys of {@link Reporting}. */
+  private static final String[] REPORTING_LOCATION_KEYS = {
+    "", "excludeDefaults", "outputDirectory"
+  };
+
+  /** The location keys of {@link Repository}. */
+  private static final String[] REPOSITORY_LOCATION_KEYS = {"", "id", "name", "url", "layout"};
+
+  /** The location keys of {@link RepositoryPolicy}. */
+  private static final String[] REPOSITORY_POLICY_LOCATION_KEYS = {
+    "", "enabled", "updatePolicy", "checksumPolicy"
+  };
+
+  /** The location keys of {@link Resource}. */
+  private static final String[] RESOURCE_LOCATION_KEYS = {
+    "", "targetPath", "filtering", "directory", "includes", "excludes"
+  };
+
+  /** The location keys of {@link Scm}. */
+  private static final String[] SCM_LOCATION_KEYS = {
+    "", "childScmConnectionInheritAppendPath", "childScmDeveloperConnectionInheritAppendPath",
+    "childScmUrlInheritAppendPath", "connection", "developerConnection", "tag", "url"
+  };
+
+  /** The location keys of {@link Site}. */
+  private static final String[] SITE_LOCATION_KEYS = {
+    "", "childSiteUrlInheritAppendPath", "id", "name", "url"
+  };
+
+  /** Whether to write the input locations of the model. */
+  private boolean locationTracking;
+
+  // -----------/
+  // - Methods -/
+  // -----------/
+
+  /**
+   * Returns whether the input locations of the model are written.
+   *
+   * @return boolean
+   */
+  public boolean isLocationTracking() {
+    return locationTracking;
+  } // -- boolean isLocationTracking()
+
+  /**
+   * Sets whether the input locations of the model are written.
+   *
+   * @param locationTracking
+   */
+  public void setLocationTracking(boolean locationTracking) {
+    this.locationTracking = locationTracking;
+  } // -- void setLocationTracking( boolean )
+
+  /**
+   * Method write. The stream is flushed but not closed.
+   *
+   * @param stream
+   * @param model
+   * @throws IOException
+   */
+  public void write(OutputStream stream, Model model) throws IOException {
+    BinaryOutput out = new BinaryOutput(stream, locationTracking);
+    out.writeFixedInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeInt(locationTracking ? FLAG_LOCATIONS : 0);
+    writeModel(model, out);
+    out.flush();
+  } // -- void write( OutputStream, Model )
+
+  /**
+   * Method writeActivation.
+   *
+   * @param activation
+   * @param out
+   * @throws IOException
+   */
+  private void writeActivation(Activation activation, BinaryOutput out) throws IOException {
+    out.writeBoolean(activation.isActiveByDefault());
+    out.writeString(activation.getJdk());
+    if (activation.getOs() != null) {
+      out.writeBoolean(true);
+      writeActivationOS(activation.getOs(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (activation.getProperty() != null) {
+      out.writeBoolean(true);
+      writeActivationProperty(activation.getProperty(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (activation.getFile() != null) {
+      out.writeBoolean(true);
+      writeActivationFile(activation.getFile(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (out.isLocationTracking()) {
+      writeLocations(activation, ACTIVATION_LOCATION_KEYS, out);
+    }
+  } // -- void writeActivation( Activation, BinaryOutput )
+
+  /**
+   * Method writeActivationFile.
+   *
+   * @param activationFile
+   * @param out
+   * @throws IOException
+   */
+  private void writeActivationFile(ActivationFile activationFile, BinaryOutput out)
+      throws IOException {
+    out.writeString(activationFile.getMissing());
+    out.writeString(activationFile.getExists());
+    if (out.isLocationTracking()) {
+      writeLocations(activationFile, ACTIVATION_FILE_LOCATION_KEYS, out);
+    }
+  } // -- void writeActivationFile( ActivationFile, BinaryOutput )
+
+  /**
+   * Method writeActivationOS.
+   *
+   * @param activationOS
+   * @param out
+   * @throws IOException
+   */
+  private void writeActivationOS(ActivationOS activationOS, BinaryOutput out) throws IOException {
+    out.writeString(activationOS.getName());
+    out.writeString(activationOS.getFamily());
+    out.writeString(activationOS.getArch());
+    out.writeString(activationOS.getVersion());
+    if (out.isLocationTracking()) {
+      writeLocations(activationOS, ACTIVATION_OS_LOCATION_KEYS, out);
+    }
+  } // -- void writeActivationOS( ActivationOS, BinaryOutput )
+
+  /**
+   * Method writeActivationProperty.
+   *
+   * @param activationProperty
+   * @param out
+   * @throws IOException
+   */
+  private void writeActivationProperty(ActivationProperty activationProperty, BinaryOutput out)
+      throws IOException {
+    out.writeString(activationProperty.getName());
+    out.writeString(activationProperty.getValue());
+    if (out.isLocationTracking()) {
+      writeLocations(activationProperty, ACTIVATION_PROPERTY_LOCATION_KEYS, out);
+    }
+  } // -- void writeActivationProperty( ActivationProperty, BinaryOutput )
+
+  /**
+   * Method writeBuild.
+   *
+   * @param build
+   * @param out
+   * @throws IOException
+   */
+  private void writeBuild(Build build, BinaryOutput out) throws IOException {
+    out.writeInt(build.getPlugins().size());
+    for (Plugin o : build.getPlugins()) {
+      writePlugin(o, out);
+    }
+    if (build.getPluginManagement() != null) {
+      out.writeBoolean(true);
+      writePluginManagement(build.getPluginManagement(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeString(build.getDefaultGoal());
+    out.writeInt(build.getResources().size());
+    for (Resource o : build.getResources()) {
+      writeResource(o, out);
+    }
+    out.writeInt(build.getTestResources().size());
+    for (Resource o : build.getTestResources()) {
+      writeResource(o, out);
+    }
+    out.writeString(build.getDirectory());
+    out.writeString(build.getFinalName());
+    out.writeStrings(build.getFilters());
+    out.writeString(build.getSourceDirectory());
+    out.writeString(build.getScriptSourceDirectory());
+    out.writeString(build.getTestSourceDirectory());
+    out.writeString(build.getOutputDirectory());
+    out.writeString(build.getTestOutputDirectory());
+    out.writeInt(build.getExtensions().size());
+    for (Extension o : build.getExtensions()) {
+      writeExtension(o, out);
+    }
+    if (out.isLocationTracking()) {
+      writeLocations(build, BUILD_LOCATION_KEYS, out);
+    }
+  } // -- void writeBuild( Build, BinaryOutput )
+
+  /**
+   * Method writeBuildBase.
+   *
+   * @param buildBase
+   * @param out
+   * @throws IOException
+   */
+  private void writeBuildBase(BuildBase buildBase, BinaryOutput out) throws IOException {
+    out.writeInt(buildBase.getPlugins().size());
+    for (Plugin o : buildBase.getPlugins()) {
+      writePlugin(o, out);
+    }
+    if (buildBase.getPluginManagement() != null) {
+      out.writeBoolean(true);
+      writePluginManagement(buildBase.getPluginManagement(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeString(buildBase.getDefaultGoal());
+    out.writeInt(buildBase.getResources().size());
+    for (Resource o : buildBase.getResources()) {
+      writeResource(o, out);
+    }
+    out.writeInt(buildBase.getTestResources().size());
+    for (Resource o : buildBase.getTestResources()) {
+      writeResource(o, out);
+    }
+    out.writeString(buildBase.getDirectory());
+    out.writeString(buildBase.getFinalName());
+    out.writeStrings(buildBase.getFilters());
+    if (out.isLocationTracking()) {
+      writeLocations(buildBase, BUILD_BASE_LOCATION_KEYS, out);
+    }
+  } // -- void writeBuildBase( BuildBase, BinaryOutput )
+
+  /**
+   * Method writeCiManagement.
+   *
+   * @param ciManagement
+   * @param out
+   * @throws IOException
+   */
+  private void writeCiManagement(CiManagement ciManagement, BinaryOutput out) throws IOException {
+    out.writeString(ciManagement.getSystem());
+    out.writeString(ciManagement.getUrl());
+    out.writeInt(ciManagement.getNotifiers().size());
+    for (Notifier o : ciManagement.getNotifiers()) {
+      writeNotifier(o, out);
+    }
+    if (out.isLocationTracking()) {
+      writeLocations(ciManagement, CI_MANAGEMENT_LOCATION_KEYS, out);
+    }
+  } // -- void writeCiManagement( CiManagement, BinaryOutput )
+
+  /**
+   * Method writeContributor.
+   *
+   * @param contributor
+   * @param out
+   * @throws IOException
+   */
+  private void writeContributor(Contributor contributor, BinaryOutput out) throws IOException {
+    out.writeString(contributor.getName());
+    out.writeString(contributor.getEmail());
+    out.writeString(contributor.getUrl());
+    out.writeString(contributor.getOrganization());
+    out.writeString(contributor.getOrganizationUrl());
+    out.writeStrings(contributor.getRoles());
+    out.writeString(contributor.getTimezone());
+    out.writeProperties(contributor.getProperties());
+    if (out.isLocationTracking()) {
+      writeLocations(contributor, CONTRIBUTOR_LOCATION_KEYS, out);
+    }
+  } // -- void writeContributor( Contributor, BinaryOutput )
+
+  /**
+   * Method writeDependency.
+   *
+   * @param dependency
+   * @param out
+   * @throws IOException
+   */
+  private void writeDependency(Dependency dependency, BinaryOutput out) throws IOException {
+    out.writeString(dependency.getGroupId());
+    out.writeString(dependency.getArtifactId());
+    out.writeString(dependency.getVersion());
+    out.writeString(dependency.getType());
+    out.writeString(dependency.getClassifier());
+    out.writeString(dependency.getScope());
+    out.writeString(dependency.getSystemPath());
+    out.writeInt(dependency.getExclusions().size());
+    for (Exclusion o : dependency.getExclusions()) {
+      writeExclusion(o, out);
+    }
+    out.writeString(dependency.getOptional());
+    if (out.isLocationTracking()) {
+      writeLocations(dependency, DEPENDENCY_LOCATION_KEYS, out);
+    }
+  } // -- void writeDependency( Dependency, BinaryOutput )
+
+  /**
+   * Method writeDependencyManagement.
+   *
+   * @param dependencyManagement
+   * @param out
+   * @throws IOException
+   */
+  private void writeDependencyManagement(
+      DependencyManagement dependencyManagement, BinaryOutput out) throws IOException {
+    out.writeInt(dependencyManagement.getDependencies().size());
+    for (Dependency o : dependencyManagement.getDependencies()) {
+      writeDependency(o, out);
+    }
+    if (out.isLocationTracking()) {
+      writeLocations(dependencyManagement, DEPENDENCY_MANAGEMENT_LOCATION_KEYS, out);
+    }
+  } // -- void writeDependencyManagement( DependencyManagement, BinaryOutput )
+
+  /**
+   * Method writeDeploymentRepository.
+   *
+   * @param deploymentRepository
+   * @param out
+   * @throws IOException
+   */
+  private void writeDeploymentRepository(
+      DeploymentRepository deploymentRepository, BinaryOutput out) throws IOException {
+    out.writeString(deploymentRepository.getId());
+    out.writeString(deploymentRepository.getName());
+    out.writeString(deploymentRepository.getUrl());
+    out.writeString(deploymentRepository.getLayout());
+    if (deploymentRepository.getReleases() != null) {
+      out.writeBoolean(true);
+      writeRepositoryPolicy(deploymentRepository.getReleases(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (deploymentRepository.getSnapshots() != null) {
+      out.writeBoolean(true);
+      writeRepositoryPolicy(deploymentRepository.getSnapshots(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeBoolean(deploymentRepository.isUniqueVersion());
+    if (out.isLocationTracking()) {
+      writeLocations(deploymentRepository, DEPLOYMENT_REPOSITORY_LOCATION_KEYS, out);
+    }
+  } // -- void writeDeploymentRepository( DeploymentRepository, BinaryOutput )
+
+  /**
+   * Method writeDeveloper.
+   *
+   * @param developer
+   * @param out
+   * @throws IOException
+   */
+  private void writeDeveloper(Developer developer, BinaryOutput out) throws IOException {
+    out.writeString(developer.getName());
+    out.writeString(developer.getEmail());
+    out.writeString(developer.getUrl());
+    out.writeString(developer.getOrganization());
+    out.writeString(developer.getOrganizationUrl());
+    out.writeStrings(developer.getRoles());
+    out.writeString(developer.getTimezone());
+    out.writeProperties(developer.getProperties());
+    out.writeString(developer.getId());
+    if (out.isLocationTracking()) {
+      writeLocations(developer, DEVELOPER_LOCATION_KEYS, out);
+    }
+  } // -- void writeDeveloper( Developer, BinaryOutput )
+
+  /**
+   * Method writeDistributionManagement.
+   *
+   * @param distributionManagement
+   * @param out
+   * @throws IOException
+   */
+  private void writeDistributionManagement(
+      DistributionManagement distributionManagement, BinaryOutput out) throws IOException {
+    if (distributionManagement.getRepository() != null) {
+      out.writeBoolean(true);
+      writeDeploymentRepository(distributionManagement.getRepository(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (distributionManagement.getSnapshotRepository() != null) {
+      out.writeBoolean(true);
+      writeDeploymentRepository(distributionManagement.getSnapshotRepository(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (distributionManagement.getSite() != null) {
+      out.writeBoolean(true);
+      writeSite(distributionManagement.getSite(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeString(distributionManagement.getDownloadUrl());
+    if (distributionManagement.getRelocation() != null) {
+      out.writeBoolean(true);
+      writeRelocation(distributionManagement.getRelocation(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeString(distributionManagement.getStatus());
+    if (out.isLocationTracking()) {
+      writeLocations(distributionManagement, DISTRIBUTION_MANAGEMENT_LOCATION_KEYS, out);
+    }
+  } // -- void writeDistributionManagement( DistributionManagement, BinaryOutput )
+
+  /**
+   * Method writeExclusion.
+   *
+   * @param exclusion
+   * @param out
+   * @throws IOException
+   */
+  private void writeExclusion(Exclusion exclusion, BinaryOutput out) throws IOException {
+    out.writeString(exclusion.getGroupId());
+    out.writeString(exclusion.getArtifactId());
+    if (out.isLocationTracking()) {
+      writeLocations(exclusion, EXCLUSION_LOCATION_KEYS, out);
+    }
+  } // -- void writeExclusion( Exclusion, BinaryOutput )
+
+  /**
+   * Method writeExtension.
+   *
+   * @param extension
+   * @param out
+   * @throws IOException
+   */
+  private void writeExtension(Extension extension, BinaryOutput out) throws IOException {
+    out.writeString(extension.getGroupId());
+    out.writeString(extension.getArtifactId());
+    out.writeString(extension.getVersion());
+    if (out.isLocationTracking()) {
+      writeLocations(extension, EXTENSION_LOCATION_KEYS, out);
+    }
+  } // -- void writeExtension( Extension, BinaryOutput )
+
+  /**
+   * Method writeIssueManagement.
+   *
+   * @param issueManagement
+   * @param out
+   * @throws IOException
+   */
+  private void writeIssueManagement(IssueManagement issueManagement, BinaryOutput out)
+      throws IOException {
+    out.writeString(issueManagement.getSystem());
+    out.writeString(issueManagement.getUrl());
+    if (out.isLocationTracking()) {
+      writeLocations(issueManagement, ISSUE_MANAGEMENT_LOCATION_KEYS, out);
+    }
+  } // -- void writeIssueManagement( IssueManagement, BinaryOutput )
+
+  /**
+   * Method writeLicense.
+   *
+   * @param license
+   * @param out
+   * @throws IOException
+   */
+  private void writeLicense(License license, BinaryOutput out) throws IOException {
+    out.writeString(license.getName());
+    out.writeString(license.getUrl());
+    out.writeString(license.getDistribution());
+    out.writeString(license.getComments());
+    if (out.isLocationTracking()) {
+      writeLocations(license, LICENSE_LOCATION_KEYS, out);
+    }
+  } // -- void writeLicense( License, BinaryOutput )
+
+  /**
+   * Method writeMailingList.
+   *
+   * @param mailingList
+   * @param out
+   * @throws IOException
+   */
+  private void writeMailingList(MailingList mailingList, BinaryOutput out) throws IOException {
+    out.writeString(mailingList.getName());
+    out.writeString(mailingList.getSubscribe());
+    out.writeString(mailingList.getUnsubscribe());
+    out.writeString(mailingList.getPost());
+    out.writeString(mailingList.getArchive());
+    out.writeStrings(mailingList.getOtherArchives());
+    if (out.isLocationTracking()) {
+      writeLocations(mailingList, MAILING_LIST_LOCATION_KEYS, out);
+    }
+  } // -- void writeMailingList( MailingList, BinaryOutput )
+
+  /**
+   * Method writeModel.
+   *
+   * @param model
+   * @param out
+   * @throws IOException
+   */
+  private void writeModel(Model model, BinaryOutput out) throws IOException {
+    out.writeStrings(model.getModules());
+    if (model.getDistributionManagement() != null) {
+      out.writeBoolean(true);
+      writeDistributionManagement(model.getDistributionManagement(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeProperties(model.getProperties());
+    if (model.getDependencyManagement() != null) {
+      out.writeBoolean(true);
+      writeDependencyManagement(model.getDependencyManagement(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeInt(model.getDependencies().size());
+    for (Dependency o : model.getDependencies()) {
+      writeDependency(o, out);
+    }
+    out.writeInt(model.getRepositories().size());
+    for (Repository o : model.getRepositories()) {
+      writeRepository(o, out);
+    }
+    out.writeInt(model.getPluginRepositories().size());
+    for (Repository o : model.getPluginRepositories()) {
+      writeRepository(o, out);
+    }
+    out.writeDom(model.getReports());
+    if (model.getReporting() != null) {
+      out.writeBoolean(true);
+      writeReporting(model.getReporting(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeString(model.getModelVersion());
+    if (model.getParent() != null) {
+      out.writeBoolean(true);
+      writeParent(model.getParent(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeString(model.getGroupId());
+    out.writeString(model.getArtifactId());
+    out.writeString(model.getVersion());
+    out.writeString(model.getPackaging());
+    out.writeString(model.getName());
+    out.writeString(model.getDescription());
+    out.writeString(model.getUrl());
+    out.writeString(model.getChildProjectUrlInheritAppendPath());
+    out.writeString(model.getInceptionYear());
+    if (model.getOrganization() != null) {
+      out.writeBoolean(true);
+      writeOrganization(model.getOrganization(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeInt(model.getLicenses().size());
+    for (License o : model.getLicenses()) {
+      writeLicense(o, out);
+    }
+    out.writeInt(model.getDevelopers().size());
+    for (Developer o : model.getDevelopers()) {
+      writeDeveloper(o, out);
+    }
+    out.writeInt(model.getContributors().size());
+    for (Contributor o : model.getContributors()) {
+      writeContributor(o, out);
+    }
+    out.writeInt(model.getMailingLists().size());
+    for (MailingList o : model.getMailingLists()) {
+      writeMailingList(o, out);
+    }
+    if (model.getPrerequisites() != null) {
+      out.writeBoolean(true);
+      writePrerequisites(model.getPrerequisites(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (model.getScm() != null) {
+      out.writeBoolean(true);
+      writeScm(model.getScm(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (model.getIssueManagement() != null) {
+      out.writeBoolean(true);
+      writeIssueManagement(model.getIssueManagement(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (model.getCiManagement() != null) {
+      out.writeBoolean(true);
+      writeCiManagement(model.getCiManagement(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (model.getBuild() != null) {
+      out.writeBoolean(true);
+      writeBuild(model.getBuild(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeInt(model.getProfiles().size());
+    for (Profile o : model.getProfiles()) {
+      writeProfile(o, out);
+    }
+    out.writeString(model.getModelEncoding());
+    out.writeFile(model.getPomFile());
+    if (out.isLocationTracking()) {
+      writeLocations(model, MODEL_LOCATION_KEYS, out);
+    }
+  } // -- void writeModel( Model, BinaryOutput )
+
+  /**
+   * Method writeNotifier.
+   *
+   * @param notifier
+   * @param out
+   * @throws IOException
+   */
+  private void writeNotifier(Notifier notifier, BinaryOutput out) throws IOException {
+    out.writeString(notifier.getType());
+    out.writeBoolean(notifier.isSendOnError());
+    out.writeBoolean(notifier.isSendOnFailure());
+    out.writeBoolean(notifier.isSendOnSuccess());
+    out.writeBoolean(notifier.isSendOnWarning());
+    out.writeString(notifier.getAddress());
+    out.writeProperties(notifier.getConfiguration());
+    if (out.isLocationTracking()) {
+      writeLocations(notifier, NOTIFIER_LOCATION_KEYS, out);
+    }
+  } // -- void writeNotifier( Notifier, BinaryOutput )
+
+  /**
+   * Method writeOrganization.
+   *
+   * @param organization
+   * @param out
+   * @throws IOException
+   */
+  private void writeOrganization(Organization organization, BinaryOutput out) throws IOException {
+    out.writeString(organization.getName());
+    out.writeString(organization.getUrl());
+    if (out.isLocationTracking()) {
+      writeLocations(organization, ORGANIZATION_LOCATION_KEYS, out);
+    }
+  } // -- void writeOrganization( Organization, BinaryOutput )
+
+  /**
+   * Method writeParent.
+   *
+   * @param parent
+   * @param out
+   * @throws IOException
+   */
+  private void writeParent(Parent parent, BinaryOutput out) throws IOException {
+    out.writeString(parent.getGroupId());
+    out.writeString(parent.getArtifactId());
+    out.writeString(parent.getVersion());
+    out.writeString(parent.getRelativePath());
+    if (out.isLocationTracking()) {
+      writeLocations(parent, PARENT_LOCATION_KEYS, out);
+    }
+  } // -- void writeParent( Parent, BinaryOutput )
+
+  /**
+   * Method writePlugin.
+   *
+   * @param plugin
+   * @param out
+   * @throws IOException
+   */
+  private void writePlugin(Plugin plugin, BinaryOutput out) throws IOException {
+    out.writeString(plugin.getInherited());
+    out.writeDom(plugin.getConfiguration());
+    out.writeBoolean(plugin.isInheritanceApplied());
+    out.writeString(plugin.getGroupId());
+    out.writeString(plugin.getArtifactId());
+    out.writeString(plugin.getVersion());
+    out.writeString(plugin.getExtensions());
+    out.writeInt(plugin.getExecutions().size());
+    for (PluginExecution o : plugin.getExecutions()) {
+      writePluginExecution(o, out);
+    }
+    out.writeInt(plugin.getDependencies().size());
+    for (Dependency o : plugin.getDependencies()) {
+      writeDependency(o, out);
+    }
+    out.writeDom(plugin.getGoals());
+    if (out.isLocationTracking()) {
+      writeLocations(plugin, PLUGIN_LOCATION_KEYS, out);
+    }
+  } // -- void writePlugin( Plugin, BinaryOutput )
+
+  /**
+   * Method writePluginExecution.
+   *
+   * @param pluginExecution
+   * @param out
+   * @throws IOException
+   */
+  private void writePluginExecution(PluginExecution pluginExecution, BinaryOutput out)
+      throws IOException {
+    out.writeString(pluginExecution.getInherited());
+    out.writeDom(pluginExecution.getConfiguration());
+    out.writeBoolean(pluginExecution.isInheritanceApplied());
+    out.writeString(pluginExecution.getId());
+    out.writeString(pluginExecution.getPhase());
+    out.writeInt(pluginExecution.getPriority());
+    out.writeStrings(pluginExecution.getGoals());
+    if (out.isLocationTracking()) {
+      writeLocations(pluginExecution, PLUGIN_EXECUTION_LOCATION_KEYS, out);
+    }
+  } // -- void writePluginExecution( PluginExecution, BinaryOutput )
+
+  /**
+   * Method writePluginManagement.
+   *
+   * @param pluginManagement
+   * @param out
+   * @throws IOException
+   */
+  private void writePluginManagement(PluginManagement pluginManagement, BinaryOutput out)
+      throws IOException {
+    out.writeInt(pluginManagement.getPlugins().size());
+    for (Plugin o : pluginManagement.getPlugins()) {
+      writePlugin(o, out);
+    }
+    if (out.isLocationTracking()) {
+      writeLocations(pluginManagement, PLUGIN_MANAGEMENT_LOCATION_KEYS, out);
+    }
+  } // -- void writePluginManagement( PluginManagement, BinaryOutput )
+
+  /**
+   * Method writePrerequisites.
+   *
+   * @param prerequisites
+   * @param out
+   * @throws IOException
+   */
+  private void writePrerequisites(Prerequisites prerequisites, BinaryOutput out)
+      throws IOException {
+    out.writeString(prerequisites.getMaven());
+    if (out.isLocationTracking()) {
+      writeLocations(prerequisites, PREREQUISITES_LOCATION_KEYS, out);
+    }
+  } // -- void writePrerequisites( Prerequisites, BinaryOutput )
+
+  /**
+   * Method writeProfile.
+   *
+   * @param profile
+   * @param out
+   * @throws IOException
+   */
+  private void writeProfile(Profile profile, BinaryOutput out) throws IOException {
+    out.writeStrings(profile.getModules());
+    if (profile.getDistributionManagement() != null) {
+      out.writeBoolean(true);
+      writeDistributionManagement(profile.getDistributionManagement(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeProperties(profile.getProperties());
+    if (profile.getDependencyManagement() != null) {
+      out.writeBoolean(true);
+      writeDependencyManagement(profile.getDependencyManagement(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeInt(profile.getDependencies().size());
+    for (Dependency o : profile.getDependencies()) {
+      writeDependency(o, out);
+    }
+    out.writeInt(profile.getRepositories().size());
+    for (Repository o : profile.getRepositories()) {
+      writeRepository(o, out);
+    }
+    out.writeInt(profile.getPluginRepositories().size());
+    for (Repository o : profile.getPluginRepositories()) {
+      writeRepository(o, out);
+    }
+    out.writeDom(profile.getReports());
+    if (profile.getReporting() != null) {
+      out.writeBoolean(true);
+      writeReporting(profile.getReporting(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeString(profile.getId());
+    if (profile.getActivation() != null) {
+      out.writeBoolean(true);
+      writeActivation(profile.getActivation(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (profile.getBuild() != null) {
+      out.writeBoolean(true);
+      writeBuildBase(profile.getBuild(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    out.writeString(profile.getSource());
+    if (out.isLocationTracking()) {
+      writeLocations(profile, PROFILE_LOCATION_KEYS, out);
+    }
+  } // -- void writeProfile( Profile, BinaryOutput )
+
+  /**
+   * Method writeRelocation.
+   *
+   * @param relocation
+   * @param out
+   * @throws IOException
+   */
+  private void writeRelocation(Relocation relocation, BinaryOutput out) throws IOException {
+    out.writeString(relocation.getGroupId());
+    out.writeString(relocation.getArtifactId());
+    out.writeString(relocation.getVersion());
+    out.writeString(relocation.getMessage());
+    if (out.isLocationTracking()) {
+      writeLocations(relocation, RELOCATION_LOCATION_KEYS, out);
+    }
+  } // -- void writeRelocation( Relocation, BinaryOutput )
+
+  /**
+   * Method writeReportPlugin.
+   *
+   * @param reportPlugin
+   * @param out
+   * @throws IOException
+   */
+  private void writeReportPlugin(ReportPlugin reportPlugin, BinaryOutput out) throws IOException {
+    out.writeString(reportPlugin.getInherited());
+    out.writeDom(reportPlugin.getConfiguration());
+    out.writeBoolean(reportPlugin.isInheritanceApplied());
+    out.writeString(reportPlugin.getGroupId());
+    out.writeString(reportPlugin.getArtifactId());
+    out.writeString(reportPlugin.getVersion());
+    out.writeInt(reportPlugin.getReportSets().size());
+    for (ReportSet o : reportPlugin.getReportSets()) {
+      writeReportSet(o, out);
+    }
+    if (out.isLocationTracking()) {
+      writeLocations(reportPlugin, REPORT_PLUGIN_LOCATION_KEYS, out);
+    }
+  } // -- void writeReportPlugin( ReportPlugin, BinaryOutput )
+
+  /**
+   * Method writeReportSet.
+   *
+   * @param reportSet
+   * @param out
+   * @throws IOException
+   */
+  private void writeReportSet(ReportSet reportSet, BinaryOutput out) throws IOException {
+    out.writeString(reportSet.getInherited());
+    out.writeDom(reportSet.getConfiguration());
+    out.writeBoolean(reportSet.isInheritanceApplied());
+    out.writeString(reportSet.getId());
+    out.writeStrings(reportSet.getReports());
+    if (out.isLocationTracking()) {
+      writeLocations(reportSet, REPORT_SET_LOCATION_KEYS, out);
+    }
+  } // -- void writeReportSet( ReportSet, BinaryOutput )
+
+  /**
+   * Method writeReporting.
+   *
+   * @param reporting
+   * @param out
+   * @throws IOException
+   */
+  private void writeReporting(Reporting reporting, BinaryOutput out) throws IOException {
+    out.writeString(reporting.getExcludeDefaults());
+    out.writeString(reporting.getOutputDirectory());
+    out.writeInt(reporting.getPlugins().size());
+    for (ReportPlugin o : reporting.getPlugins()) {
+      writeReportPlugin(o, out);
+    }
+    if (out.isLocationTracking()) {
+      writeLocations(reporting, REPORTING_LOCATION_KEYS, out);
+    }
+  } // -- void writeReporting( Reporting, BinaryOutput )
+
+  /**
+   * Method writeRepository.
+   *
+   * @param repository
+   * @param out
+   * @throws IOException
+   */
+  private void writeRepository(Repository repository, BinaryOutput out) throws IOException {
+    out.writeString(repository.getId());
+    out.writeString(repository.getName());
+    out.writeString(repository.getUrl());
+    out.writeString(repository.getLayout());
+    if (repository.getReleases() != null) {
+      out.writeBoolean(true);
+      writeRepositoryPolicy(repository.getReleases(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (repository.getSnapshots() != null) {
+      out.writeBoolean(true);
+      writeRepositoryPolicy(repository.getSnapshots(), out);
+    } else {
+      out.writeBoolean(false);
+    }
+    if (out.isLocationTracking()) {
+      writeLocations(repository, REPOSITORY_LOCATION_KEYS, out);
+    }
+  } // -- void writeRepository( Repository, BinaryOutput )
+
+  /**
+   * Method writeRepositoryPolicy.
+   *
+   * @param repositoryPolicy
+   * @param out
+   * @throws IOException
+   */
+  private void writeRepositoryPolicy(RepositoryPolicy repositoryPolicy, BinaryOutput out)
+      throws IOException {
+    out.writeString(repositoryPolicy.getEnabled());
+    out.writeString(repositoryPolicy.getUpdatePolicy());
+    out.writeString(repositoryPolicy.getChecksumPolicy());
+    if (out.isLocationTracking()) {
+      writeLocations(repositoryPolicy, REPOSITORY_POLICY_LOCATION_KEYS, out);
+    }
+  } // -- void writeRepositoryPolicy( RepositoryPolicy, BinaryOutput )
+
+  /**
+   * Method writeResource.
+   *
+   * @param resource
+   * @param out
+   * @throws IOException
+   */
+  private void writeResource(Resource resource, BinaryOutput out) throws IOException {
+    out.writeStrings(resource.getIncludes());
+    out.writeStrings(resource.getExcludes());
+    out.writeString(resource.getDirectory());
+    out.writeString(resource.getTargetPath());
+    out.writeString(resource.getFiltering());
+    out.writeString(resource.getMergeId());
+    if (out.isLocationTracking()) {
+      writeLocations(resource, RESOURCE_LOCATION_KEYS, out);
+    }
+  } // -- void writeResource( Resource, BinaryOutput )
+
+  /**
+   * Method writeScm.
+   *
+   * @param scm
+   * @param out
+   * @throws IOException
+   */
+  private void writeScm(Scm scm, BinaryOutput out) throws IOException {
+    out.writeString(scm.getConnection());
+    out.writeString(scm.getDeveloperConnection());
+    out.writeString(scm.getTag());
+    out.writeString(scm.getUrl());
+    out.writeString(scm.getChildScmConnectionInheritAppendPath());
+    out.writeString(scm.getChildScmDeveloperConnectionInheritAppendPath());
+    out.writeString(scm.getChildScmUrlInheritAppendPath());
+    if (out.isLocationTracking()) {
+      writeLocations(scm, SCM_LOCATION_KEYS, out);
+    }
+  } // -- void writeScm( Scm, BinaryOutput )
+
+  /**
+   * Method writeSite.
+   *
+   * @param site
+   * @param out
+   * @throws IOException
+   */
+  private void writeSite(Site site, BinaryOutput out) throws IOException {
+    out.writeString(site.getId());
+    out.writeString(site.getName());
+    out.writeString(site.getUrl());
+    out.writeString(site.getChildSiteUrlInheritAppendPath());
+    if (out.isLocationTracking()) {
+      writeLocations(site, SITE_LOCATION_KEYS, out);
+    }
+  } // -- void writeSite( Site, BinaryOutput )
+
+  /**
+   * Method writeLocations.
+   *
+   * @param tracker
+   * @param keys
+   * @param out
+   * @throws IOException
+   */
+  private void writeLocations(InputLocationTracker tracker, String[] keys, BinaryOutput out)
+      throws IOException {
+    int count = 0;
+    for (String key : keys) {
+      if (tracker.getLocation(key) != null) {
+        count++;
+      }
+    }
+    out.writeInt(count);
+    for (String key : keys) {
+      InputLocation location = tracker.getLocation(key);
+      if (location != null) {
+        out.writeString(key);
+        out.writeLocation(location);
+      }
+    }
+  } // -- void writeLocations( InputLocationTracker, String[], BinaryOutput )
+
+  /** The buffered output of a single document, holding the string and source tables. */
+  private static final class BinaryOutput {
+
+    private final OutputStream stream;
+
+    private final boolean locationTracking;
+
+    private final byte[] buffer = new byte[8192];
+
+    private int count;
+
+    private final Map<String, Integer> strings = new HashMap<>(256);
+
+    private final Map<InputSource, Integer> sources = new IdentityHashMap<>();
+
+    BinaryOutput(OutputStream stream, boolean locationTracking) {
+      this.stream = stream;
+      this.locationTracking = locationTracking;
+    }
+
+    boolean isLocationTracking() {
+      return locationTracking;
+    }
+
+    void writeByte(int b) throws IOException {
+      if (count == buffer.length) {
+        drain();
+      }
+      buffer[count++] = (byte) b;
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+      if (bytes.length > buffer.length - count) {
+        drain();
+        if (bytes.length > buffer.length) {
+          stream.write(bytes);
+          return;
+        }
+      }
+      System.arraycopy(bytes, 0, buffer, count, bytes.length);
+      count += bytes.length;
+    }
+
+    void writeFixedInt(int value) throws IOException {
+      writeByte(value >>> 24);
+      writeByte(value >>> 16);
+      writeByte(value >>> 8);
+      writeByte(value);
+    }
+
+    /** Writes a zigzag encoded variable length integer, small magnitudes take a single byte. */
+    void writeInt(int value) throws IOException {
+      int v = (value << 1) ^ (value >> 31);
+      while ((v & ~0x7F) != 0) {
+        writeByte((v & 0x7F) | 0x80);
+        v >>>= 7;
+      }
+      writeByte(v);
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+      writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a string as {@code 0} for {@code null}, as {@code 1} followed by its UTF-8 bytes the
+     * first time it occurs and as its table index plus {@code 2} afterwards.
+     */
+    void writeString(String value) throws IOException {
+      if (value == null) {
+        writeInt(0);
+        return;
+      }
+      Integer index = strings.putIfAbsent(value, strings.size());
+      if (index != null) {
+        writeInt(index + 2);
+      } else {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(1);
+        writeInt(bytes.length);
+        writeBytes(bytes);
+      }
+    }
+
+    void writeStrings(List<String> values) throws IOException {
+      writeInt(values.size());
+      for (String value : values) {
+        writeString(value);
+      }
+    }
+
+    void writeProperties(Properties properties) throws IOException {
+      writeInt(properties.size());
+      for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+        writeString(entry.getKey().toString());
+        writeString(entry.getValue().toString());
+      }
+    }
+
+    void writeFile(File file) throws IOException {
+      writeString(file != null ? file.getPath() : null);
+    }
+
+    void writeDom(Object dom) throws IOException {
+      if (dom == null) {
+        writeBoolean(false);
+      } else if (dom instanceof Xpp3Dom) {
+        writeBoolean(true);
+        writeNode((Xpp3Dom) dom);
+      } else {
+        throw new IOException("Unsupported configuration type " + dom.getClass().getName());
+      }
+    }
+
+    private void writeNode(Xpp3Dom dom) throws IOException {
+      writeString(dom.getName());
+      writeString(dom.getValue());
+      String[] attributeNames = dom.getAttributeNames();
+      writeInt(attributeNames.length);
+      for (String name : attributeNames) {
+        writeString(name);
+        writeString(dom.getAttribute(name));
+      }
+      if (locationTracking) {
+        Object location = dom.getInputLocation();
+        if (location instanceof InputLocation) {
+          writeBoolean(true);
+          writeLocation((InputLocation) location);
+        } else {
+          writeBoolean(false);
+        }
+      }
+      int childCount = dom.getChildCount();
+      writeInt(childCount);
+      for (int i = 0; i < childCount; i++) {
+        writeNode(dom.getChild(i));
+      }
+    }
+
+    void writeLocation(InputLocation location) throws IOException {
+      writeInt(location.getLineNumber());
+      writeInt(location.getColumnNumber());
+      writeSource(location.getSource());
+      Map<Object, InputLocation> locations = location.getLocations();
+      if (locations == null) {
+        writeInt(0);
+        return;
+      }
+      writeInt(locations.size());
+      for (Map.Entry<Object, InputLocation> entry : locations.entrySet()) {
+        Object key = entry.getKey();
+        if (key instanceof Integer) {
+          writeByte(0);
+          writeInt((Integer) key);
+        } else if (key instanceof String) {
+          writeByte(1);
+          writeString((String) key);
+        } else {
+          throw new IOException("Unsupported location key type " + key.getClass().getName());
+        }
+        writeLocation(entry.getValue());
+      }
+    }
+
+    private void writeSource(InputSource source) throws IOException {
+      if (source == null) {
+        writeInt(0);
+        return;
+      }
+      Integer index = sources.putIfAbsent(source, sources.size());
+      if (index != null) {
+        writeInt(index + 2);
+      } else {
+        writeInt(1);
+        writeString(source.getModelId());
+        writeString(source.getLocation());
+      }
+    }
+
+    private void drain() throws IOException {
+      stream.write(buffer, 0, count);
+      count = 0;
+    }
+
+    void flush() throws IOException {
+      drain();
+      stream.flush();
+    }
+  }
+}
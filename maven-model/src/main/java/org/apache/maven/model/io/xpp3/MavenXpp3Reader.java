@@ -89,6 +89,37 @@ public class MavenXpp3Reader {
   /** Field contentTransformer. */
   public final ContentTransformer contentTransformer;
 
+  /**
+   * Deduplicates the values of coordinate-like fields (ids, versions, types, scopes) and property
+   * names, may be {@code null} to keep every parsed string as is.
+   */
+  private java.util.function.UnaryOperator<String> stringPool;
+
+  /**
+   * Receives the errors a strict parse would have failed with while parsing in non-strict mode, may
+   * be {@code null} to silently ignore them.
+   */
+  private java.util.function.Consumer<XmlPullParserException> strictViolationHandler;
+
+  /** The number of top-level elements read by {@link #parseModelHeader(XmlPullParser)}. */
+  private static final int HEADER_FIELD_COUNT = 7;
+
+  /**
+   * The top-level elements that end the header read by {@link #parseModelHeader(XmlPullParser)},
+   * i.e. the large sections that usually follow the header fields.
+   */
+  private static final java.util.Set<String> HEADER_END_ELEMENTS =
+      new java.util.HashSet<String>(
+          java.util.Arrays.asList(
+              "dependencies",
+              "dependencyManagement",
+              "build",
+              "profiles",
+              "reporting",
+              "repositories",
+              "pluginRepositories",
+              "distributionManagement"));
+
   // ----------------/
   // - Constructors -/
   // ----------------/
@@ -150,6 +181,10 @@ public class MavenXpp3Reader {
     if (strict) {
       throw new XmlPullParserException(
           "Unknown attribute '" + attribute + "' for tag '" + tagName + "'", parser, null);
+    } else if (strictViolationHandler != null) {
+      strictViolationHandler.accept(
+          new XmlPullParserException(
+              "Unknown attribute '" + attribute + "' for tag '" + tagName + "'", parser, null));
     }
   } // -- void checkUnknownAttribute( XmlPullParser, String, String, boolean )
 
@@ -166,6 +201,10 @@ public class MavenXpp3Reader {
     if (strict) {
       throw new XmlPullParserException(
           "Unrecognised tag: '" + parser.getName() + "'", parser, null);
+    } else if (strictViolationHandler != null) {
+      strictViolationHandler.accept(
+          new XmlPullParserException(
+              "Unrecognised tag: '" + parser.getName() + "'", parser, null));
     }
 
     for (int unrecognizedTagCount = 1; unrecognizedTagCount > 0; ) {
@@ -178,6 +217,24 @@ public class MavenXpp3Reader {
     }
   } // -- void checkUnknownElement( XmlPullParser, boolean )
 
+  /**
+   * Method skipElement.
+   *
+   * @param parser
+   * @throws XmlPullParserException
+   * @throws IOException
+   */
+  private void skipElement(XmlPullParser parser) throws XmlPullParserException, IOException {
+    for (int depth = 1; depth > 0; ) {
+      int eventType = parser.next();
+      if (eventType == XmlPullParser.START_TAG) {
+        depth++;
+      } else if (eventType == XmlPullParser.END_TAG) {
+        depth--;
+      }
+    }
+  } // -- void skipElement( XmlPullParser )
+
   /**
    * Returns the state of the "add default entities" flag.
    *
@@ -242,6 +299,10 @@ public class MavenXpp3Reader {
         if (strict) {
           throw new XmlPullParserException(
               "Unable to parse element '" + attribute + "', must be a byte", parser, nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be a byte", parser, nfe));
         }
       }
     }
@@ -337,6 +398,12 @@ public class MavenXpp3Reader {
               "Unable to parse element '" + attribute + "', must be a floating point number",
               parser,
               nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be a floating point number",
+                  parser,
+                  nfe));
         }
       }
     }
@@ -364,6 +431,12 @@ public class MavenXpp3Reader {
               "Unable to parse element '" + attribute + "', must be a floating point number",
               parser,
               nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be a floating point number",
+                  parser,
+                  nfe));
         }
       }
     }
@@ -389,6 +462,10 @@ public class MavenXpp3Reader {
         if (strict) {
           throw new XmlPullParserException(
               "Unable to parse element '" + attribute + "', must be an integer", parser, nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be an integer", parser, nfe));
         }
       }
     }
@@ -414,6 +491,12 @@ public class MavenXpp3Reader {
         if (strict) {
           throw new XmlPullParserException(
               "Unable to parse element '" + attribute + "', must be a long integer", parser, nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be a long integer",
+                  parser,
+                  nfe));
         }
       }
     }
@@ -437,6 +520,10 @@ public class MavenXpp3Reader {
       if (strict) {
         throw new XmlPullParserException(
             "Missing required value for attribute '" + attribute + "'", parser, null);
+      } else if (strictViolationHandler != null) {
+        strictViolationHandler.accept(
+            new XmlPullParserException(
+                "Missing required value for attribute '" + attribute + "'", parser, null));
       }
     }
     return s;
@@ -461,6 +548,12 @@ public class MavenXpp3Reader {
         if (strict) {
           throw new XmlPullParserException(
               "Unable to parse element '" + attribute + "', must be a short integer", parser, nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be a short integer",
+                  parser,
+                  nfe));
         }
       }
     }
@@ -488,9 +581,42 @@ public class MavenXpp3Reader {
    * @return String
    */
   private String interpolatedTrimmed(String value, String context) {
-    return getTrimmedValue(contentTransformer.transform(value, context));
+    String result = getTrimmedValue(contentTransformer.transform(value, context));
+    if (stringPool != null) {
+      switch (context) {
+        case "groupId":
+        case "artifactId":
+        case "version":
+        case "type":
+        case "scope":
+        case "classifier":
+        case "packaging":
+        case "phase":
+        case "goals":
+        case "id":
+        case "inherited":
+        case "optional":
+        case "modelVersion":
+        case "layout":
+        case "extensions":
+          return stringPool.apply(result);
+        default:
+          return result;
+      }
+    }
+    return result;
   } // -- String interpolatedTrimmed( String, String )
 
+  /**
+   * Method pooled.
+   *
+   * @param value
+   * @return String
+   */
+  private String pooled(String value) {
+    return (stringPool != null) ? stringPool.apply(value) : value;
+  } // -- String pooled( String )
+
   /**
    * Method nextTag.
    *
@@ -502,6 +628,10 @@ public class MavenXpp3Reader {
   private int nextTag(XmlPullParser parser) throws IOException, XmlPullParserException {
     int eventType = parser.next();
     if (eventType == XmlPullParser.TEXT) {
+      if (strictViolationHandler != null && !parser.isWhitespace()) {
+        strictViolationHandler.accept(
+            new XmlPullParserException("expected START_TAG or END_TAG not TEXT", parser, null));
+      }
       eventType = parser.next();
     }
     if (eventType != XmlPullParser.START_TAG && eventType != XmlPullParser.END_TAG) {
@@ -541,6 +671,59 @@ public class MavenXpp3Reader {
     return read(reader, true);
   } // -- Model read( Reader )
 
+  /**
+   * Reads only the header of a POM, i.e. the model version, parent, coordinates, packaging and
+   * modules. All other top-level elements are skipped without being parsed into model objects.
+   * Parsing stops once all of these elements were read or at the first large section like the
+   * dependencies, the build or the profiles, so header elements placed after such a section are not
+   * seen. The returned model is incomplete and only suitable for discovering projects.
+   *
+   * @see ReaderFactory#newXmlReader
+   * @param reader
+   * @throws IOException
+   * @throws XmlPullParserException
+   * @return Model
+   */
+  public Model readHeader(Reader reader) throws IOException, XmlPullParserException {
+    XmlPullParser parser =
+        addDefaultEntities
+            ? new MXParser(EntityReplacementMap.defaultEntityReplacementMap)
+            : new MXParser();
+
+    parser.setInput(reader);
+
+    return readHeader(parser);
+  } // -- Model readHeader( Reader )
+
+  /**
+   * Reads only the header of a POM from a parser whose input has already been set.
+   *
+   * @see #readHeader(Reader)
+   * @param parser
+   * @throws IOException
+   * @throws XmlPullParserException
+   * @return Model
+   */
+  public Model readHeader(XmlPullParser parser) throws IOException, XmlPullParserException {
+    int eventType = parser.getEventType();
+    while (eventType != XmlPullParser.END_DOCUMENT) {
+      if (eventType == XmlPullParser.START_TAG) {
+        if (!"project".equals(parser.getName())) {
+          throw new XmlPullParserException(
+              "Expected root element 'project' but found '" + parser.getName() + "'", parser, null);
+        }
+        Model model = parseModelHeader(parser);
+        model.setModelEncoding(parser.getInputEncoding());
+        return model;
+      }
+      eventType = parser.next();
+    }
+    throw new XmlPullParserException(
+        "Expected root element 'project' but found no element at all: invalid XML document",
+        parser,
+        null);
+  } // -- Model readHeader( XmlPullParser )
+
   /**
    * Method read.
    *
@@ -1038,7 +1221,7 @@ public class MavenXpp3Reader {
         contributor.setTimezone(interpolatedTrimmed(parser.nextText(), "timezone"));
       } else if (checkFieldWithDuplicate(parser, "properties", null, parsed)) {
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           String value = parser.nextText().trim();
           contributor.addProperty(key, value);
         }
@@ -1251,7 +1434,7 @@ public class MavenXpp3Reader {
         developer.setTimezone(interpolatedTrimmed(parser.nextText(), "timezone"));
       } else if (checkFieldWithDuplicate(parser, "properties", null, parsed)) {
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           String value = parser.nextText().trim();
           developer.addProperty(key, value);
         }
@@ -1677,7 +1860,7 @@ public class MavenXpp3Reader {
         model.setDistributionManagement(parseDistributionManagement(parser, strict));
       } else if (checkFieldWithDuplicate(parser, "properties", null, parsed)) {
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           String value = parser.nextText().trim();
           model.addProperty(key, value);
         }
@@ -1736,6 +1919,55 @@ public class MavenXpp3Reader {
     return model;
   } // -- Model parseModel( XmlPullParser, boolean )
 
+  /**
+   * Method parseModelHeader.
+   *
+   * @param parser
+   * @throws IOException
+   * @throws XmlPullParserException
+   * @return Model
+   */
+  private Model parseModelHeader(XmlPullParser parser) throws IOException, XmlPullParserException {
+    Model model = new Model();
+    java.util.Set parsed = new java.util.HashSet();
+    while (nextTag(parser) == XmlPullParser.START_TAG) {
+      if (checkFieldWithDuplicate(parser, "modelVersion", null, parsed)) {
+        model.setModelVersion(interpolatedTrimmed(parser.nextText(), "modelVersion"));
+      } else if (checkFieldWithDuplicate(parser, "parent", null, parsed)) {
+        model.setParent(parseParent(parser, false));
+      } else if (checkFieldWithDuplicate(parser, "groupId", null, parsed)) {
+        model.setGroupId(interpolatedTrimmed(parser.nextText(), "groupId"));
+      } else if (checkFieldWithDuplicate(parser, "artifactId", null, parsed)) {
+        model.setArtifactId(interpolatedTrimmed(parser.nextText(), "artifactId"));
+      } else if (checkFieldWithDuplicate(parser, "version", null, parsed)) {
+        model.setVersion(interpolatedTrimmed(parser.nextText(), "version"));
+      } else if (checkFieldWithDuplicate(parser, "packaging", null, parsed)) {
+        model.setPackaging(interpolatedTrimmed(parser.nextText(), "packaging"));
+      } else if (checkFieldWithDuplicate(parser, "modules", null, parsed)) {
+        java.util.List<String> modules = new java.util.ArrayList<String>();
+        model.setModules(modules);
+        while (parser.nextTag() == XmlPullParser.START_TAG) {
+          if ("module".equals(parser.getName())) {
+            modules.add(interpolatedTrimmed(parser.nextText(), "modules"));
+          } else {
+            skipElement(parser);
+          }
+        }
+      } else if (HEADER_END_ELEMENTS.contains(parser.getName())) {
+        // the header fields conventionally precede these sections, don't scan the rest of the POM
+        break;
+      } else {
+        skipElement(parser);
+        continue;
+      }
+      if (parsed.size() == HEADER_FIELD_COUNT) {
+        // the top-level elements may come in any order, stop only once every header field is read
+        break;
+      }
+    }
+    return model;
+  } // -- Model parseModelHeader( XmlPullParser )
+
   /**
    * Method parseModelBase.
    *
@@ -1775,7 +2007,7 @@ public class MavenXpp3Reader {
         modelBase.setDistributionManagement(parseDistributionManagement(parser, strict));
       } else if (checkFieldWithDuplicate(parser, "properties", null, parsed)) {
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           String value = parser.nextText().trim();
           modelBase.addProperty(key, value);
         }
@@ -1881,7 +2113,7 @@ public class MavenXpp3Reader {
         notifier.setAddress(interpolatedTrimmed(parser.nextText(), "address"));
       } else if (checkFieldWithDuplicate(parser, "configuration", null, parsed)) {
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           String value = parser.nextText().trim();
           notifier.addConfiguration(key, value);
         }
@@ -2344,7 +2576,7 @@ public class MavenXpp3Reader {
         profile.setDistributionManagement(parseDistributionManagement(parser, strict));
       } else if (checkFieldWithDuplicate(parser, "properties", null, parsed)) {
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           String value = parser.nextText().trim();
           profile.addProperty(key, value);
         }
@@ -2850,7 +3082,8 @@ public class MavenXpp3Reader {
   } // -- Site parseSite( XmlPullParser, boolean )
 
   /**
-   * Method read.
+   * Reads the model from a parser whose input has already been set, which allows to reuse parsers
+   * across documents.
    *
    * @param parser
    * @param strict
@@ -2858,17 +3091,25 @@ public class MavenXpp3Reader {
    * @throws XmlPullParserException
    * @return Model
    */
-  private Model read(XmlPullParser parser, boolean strict)
+  public Model read(XmlPullParser parser, boolean strict)
       throws IOException, XmlPullParserException {
     Model model = null;
     int eventType = parser.getEventType();
     boolean parsed = false;
     while (eventType != XmlPullParser.END_DOCUMENT) {
       if (eventType == XmlPullParser.START_TAG) {
-        if (strict && !"project".equals(parser.getName())) {
-          throw new XmlPullParserException(
-              "Expected root element 'project' but found '" + parser.getName() + "'", parser, null);
-        } else if (parsed) {
+        if (!"project".equals(parser.getName()) && (strict || strictViolationHandler != null)) {
+          XmlPullParserException e =
+              new XmlPullParserException(
+                  "Expected root element 'project' but found '" + parser.getName() + "'",
+                  parser,
+                  null);
+          if (strict) {
+            throw e;
+          }
+          strictViolationHandler.accept(e);
+        }
+        if (parsed) {
           // fallback, already expected a XmlPullParserException due to invalid XML
           throw new XmlPullParserException("Duplicated tag: 'project'", parser, null);
         }
@@ -2896,6 +3137,46 @@ public class MavenXpp3Reader {
     this.addDefaultEntities = addDefaultEntities;
   } // -- void setAddDefaultEntities( boolean )
 
+  /**
+   * Returns the pool used to deduplicate coordinate-like values and property names.
+   *
+   * @return UnaryOperator
+   */
+  public java.util.function.UnaryOperator<String> getStringPool() {
+    return stringPool;
+  } // -- java.util.function.UnaryOperator<String> getStringPool()
+
+  /**
+   * Returns the handler notified of strict violations during non-strict parsing.
+   *
+   * @return Consumer
+   */
+  public java.util.function.Consumer<XmlPullParserException> getStrictViolationHandler() {
+    return strictViolationHandler;
+  } // -- java.util.function.Consumer getStrictViolationHandler()
+
+  /**
+   * Sets the pool used to deduplicate coordinate-like values and property names. A pool can be
+   * scoped to a single parse or shared by many readers, see <code>StringPool</code>.
+   *
+   * @param stringPool the pool to use, may be {@code null} to disable deduplication
+   */
+  public void setStringPool(java.util.function.UnaryOperator<String> stringPool) {
+    this.stringPool = stringPool;
+  } // -- void setStringPool( java.util.function.UnaryOperator )
+
+  /**
+   * Sets the handler notified of every error a strict parse would have failed with. Only used for
+   * non-strict parsing, where it allows a single lenient parse to tell whether the input is also
+   * valid in strict mode.
+   *
+   * @param strictViolationHandler
+   */
+  public void setStrictViolationHandler(
+      java.util.function.Consumer<XmlPullParserException> strictViolationHandler) {
+    this.strictViolationHandler = strictViolationHandler;
+  } // -- void setStrictViolationHandler( java.util.function.Consumer )
+
   public static interface ContentTransformer {
     /**
      * Interpolate the value read from the xpp3 document
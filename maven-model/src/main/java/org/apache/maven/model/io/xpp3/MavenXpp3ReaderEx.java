@@ -91,6 +91,18 @@ public class MavenXpp3ReaderEx {
   /** Field contentTransformer. */
   public final ContentTransformer contentTransformer;
 
+  /**
+   * Deduplicates the values of coordinate-like fields (ids, versions, types, scopes) and property
+   * names, may be {@code null} to keep every parsed string as is.
+   */
+  private java.util.function.UnaryOperator<String> stringPool;
+
+  /**
+   * Receives the errors a strict parse would have failed with while parsing in non-strict mode, may
+   * be {@code null} to silently ignore them.
+   */
+  private java.util.function.Consumer<XmlPullParserException> strictViolationHandler;
+
   // ----------------/
   // - Constructors -/
   // ----------------/
@@ -152,6 +164,10 @@ public class MavenXpp3ReaderEx {
     if (strict) {
       throw new XmlPullParserException(
           "Unknown attribute '" + attribute + "' for tag '" + tagName + "'", parser, null);
+    } else if (strictViolationHandler != null) {
+      strictViolationHandler.accept(
+          new XmlPullParserException(
+              "Unknown attribute '" + attribute + "' for tag '" + tagName + "'", parser, null));
     }
   } // -- void checkUnknownAttribute( XmlPullParser, String, String, boolean )
 
@@ -168,6 +184,10 @@ public class MavenXpp3ReaderEx {
     if (strict) {
       throw new XmlPullParserException(
           "Unrecognised tag: '" + parser.getName() + "'", parser, null);
+    } else if (strictViolationHandler != null) {
+      strictViolationHandler.accept(
+          new XmlPullParserException(
+              "Unrecognised tag: '" + parser.getName() + "'", parser, null));
     }
 
     for (int unrecognizedTagCount = 1; unrecognizedTagCount > 0; ) {
@@ -244,6 +264,10 @@ public class MavenXpp3ReaderEx {
         if (strict) {
           throw new XmlPullParserException(
               "Unable to parse element '" + attribute + "', must be a byte", parser, nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be a byte", parser, nfe));
         }
       }
     }
@@ -339,6 +363,12 @@ public class MavenXpp3ReaderEx {
               "Unable to parse element '" + attribute + "', must be a floating point number",
               parser,
               nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be a floating point number",
+                  parser,
+                  nfe));
         }
       }
     }
@@ -366,6 +396,12 @@ public class MavenXpp3ReaderEx {
               "Unable to parse element '" + attribute + "', must be a floating point number",
               parser,
               nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be a floating point number",
+                  parser,
+                  nfe));
         }
       }
     }
@@ -391,6 +427,10 @@ public class MavenXpp3ReaderEx {
         if (strict) {
           throw new XmlPullParserException(
               "Unable to parse element '" + attribute + "', must be an integer", parser, nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be an integer", parser, nfe));
         }
       }
     }
@@ -416,6 +456,12 @@ public class MavenXpp3ReaderEx {
         if (strict) {
           throw new XmlPullParserException(
               "Unable to parse element '" + attribute + "', must be a long integer", parser, nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be a long integer",
+                  parser,
+                  nfe));
         }
       }
     }
@@ -439,6 +485,10 @@ public class MavenXpp3ReaderEx {
       if (strict) {
         throw new XmlPullParserException(
             "Missing required value for attribute '" + attribute + "'", parser, null);
+      } else if (strictViolationHandler != null) {
+        strictViolationHandler.accept(
+            new XmlPullParserException(
+                "Missing required value for attribute '" + attribute + "'", parser, null));
       }
     }
     return s;
@@ -463,6 +513,12 @@ public class MavenXpp3ReaderEx {
         if (strict) {
           throw new XmlPullParserException(
               "Unable to parse element '" + attribute + "', must be a short integer", parser, nfe);
+        } else if (strictViolationHandler != null) {
+          strictViolationHandler.accept(
+              new XmlPullParserException(
+                  "Unable to parse element '" + attribute + "', must be a short integer",
+                  parser,
+                  nfe));
         }
       }
     }
@@ -490,9 +546,42 @@ public class MavenXpp3ReaderEx {
    * @return String
    */
   private String interpolatedTrimmed(String value, String context) {
-    return getTrimmedValue(contentTransformer.transform(value, context));
+    String result = getTrimmedValue(contentTransformer.transform(value, context));
+    if (stringPool != null) {
+      switch (context) {
+        case "groupId":
+        case "artifactId":
+        case "version":
+        case "type":
+        case "scope":
+        case "classifier":
+        case "packaging":
+        case "phase":
+        case "goals":
+        case "id":
+        case "inherited":
+        case "optional":
+        case "modelVersion":
+        case "layout":
+        case "extensions":
+          return stringPool.apply(result);
+        default:
+          return result;
+      }
+    }
+    return result;
   } // -- String interpolatedTrimmed( String, String )
 
+  /**
+   * Method pooled.
+   *
+   * @param value
+   * @return String
+   */
+  private String pooled(String value) {
+    return (stringPool != null) ? stringPool.apply(value) : value;
+  } // -- String pooled( String )
+
   /**
    * Method nextTag.
    *
@@ -504,6 +593,10 @@ public class MavenXpp3ReaderEx {
   private int nextTag(XmlPullParser parser) throws IOException, XmlPullParserException {
     int eventType = parser.next();
     if (eventType == XmlPullParser.TEXT) {
+      if (strictViolationHandler != null && !parser.isWhitespace()) {
+        strictViolationHandler.accept(
+            new XmlPullParserException("expected START_TAG or END_TAG not TEXT", parser, null));
+      }
       eventType = parser.next();
     }
     if (eventType != XmlPullParser.START_TAG && eventType != XmlPullParser.END_TAG) {
@@ -1141,7 +1234,7 @@ public class MavenXpp3ReaderEx {
         _locations = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
         contributor.setLocation("properties", _locations);
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           _location = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
           _locations.setLocation(key, _location);
           String value = parser.nextText().trim();
@@ -1422,7 +1515,7 @@ public class MavenXpp3ReaderEx {
         _locations = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
         developer.setLocation("properties", _locations);
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           _location = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
           _locations.setLocation(key, _location);
           String value = parser.nextText().trim();
@@ -1966,7 +2059,7 @@ public class MavenXpp3ReaderEx {
         _locations = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
         model.setLocation("properties", _locations);
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           _location = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
           _locations.setLocation(key, _location);
           String value = parser.nextText().trim();
@@ -2082,7 +2175,7 @@ public class MavenXpp3ReaderEx {
         _locations = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
         modelBase.setLocation("properties", _locations);
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           _location = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
           _locations.setLocation(key, _location);
           String value = parser.nextText().trim();
@@ -2213,7 +2306,7 @@ public class MavenXpp3ReaderEx {
         _locations = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
         notifier.setLocation("configuration", _locations);
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           _location = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
           _locations.setLocation(key, _location);
           String value = parser.nextText().trim();
@@ -2788,7 +2881,7 @@ public class MavenXpp3ReaderEx {
         _locations = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
         profile.setLocation("properties", _locations);
         while (parser.nextTag() == XmlPullParser.START_TAG) {
-          String key = parser.getName();
+          String key = pooled(parser.getName());
           _location = new InputLocation(parser.getLineNumber(), parser.getColumnNumber(), source);
           _locations.setLocation(key, _location);
           String value = parser.nextText().trim();
@@ -3438,7 +3531,8 @@ public class MavenXpp3ReaderEx {
   } // -- Site parseSite( XmlPullParser, boolean, InputSource )
 
   /**
-   * Method read.
+   * Reads the model from a parser whose input has already been set, which allows to reuse parsers
+   * across documents.
    *
    * @param parser
    * @param source
@@ -3447,17 +3541,25 @@ public class MavenXpp3ReaderEx {
    * @throws XmlPullParserException
    * @return Model
    */
-  private Model read(XmlPullParser parser, boolean strict, InputSource source)
+  public Model read(XmlPullParser parser, boolean strict, InputSource source)
       throws IOException, XmlPullParserException {
     Model model = null;
     int eventType = parser.getEventType();
     boolean parsed = false;
     while (eventType != XmlPullParser.END_DOCUMENT) {
       if (eventType == XmlPullParser.START_TAG) {
-        if (strict && !"project".equals(parser.getName())) {
-          throw new XmlPullParserException(
-              "Expected root element 'project' but found '" + parser.getName() + "'", parser, null);
-        } else if (parsed) {
+        if (!"project".equals(parser.getName()) && (strict || strictViolationHandler != null)) {
+          XmlPullParserException e =
+              new XmlPullParserException(
+                  "Expected root element 'project' but found '" + parser.getName() + "'",
+                  parser,
+                  null);
+          if (strict) {
+            throw e;
+          }
+          strictViolationHandler.accept(e);
+        }
+        if (parsed) {
           // fallback, already expected a XmlPullParserException due to invalid XML
           throw new XmlPullParserException("Duplicated tag: 'project'", parser, null);
         }
@@ -3485,6 +3587,46 @@ public class MavenXpp3ReaderEx {
     this.addDefaultEntities = addDefaultEntities;
   } // -- void setAddDefaultEntities( boolean )
 
+  /**
+   * Returns the pool used to deduplicate coordinate-like values and property names.
+   *
+   * @return UnaryOperator
+   */
+  public java.util.function.UnaryOperator<String> getStringPool() {
+    return stringPool;
+  } // -- java.util.function.UnaryOperator<String> getStringPool()
+
+  /**
+   * Returns the handler notified of strict violations during non-strict parsing.
+   *
+   * @return Consumer
+   */
+  public java.util.function.Consumer<XmlPullParserException> getStrictViolationHandler() {
+    return strictViolationHandler;
+  } // -- java.util.function.Consumer getStrictViolationHandler()
+
+  /**
+   * Sets the pool used to deduplicate coordinate-like values and property names. A pool can be
+   * scoped to a single parse or shared by many readers, see <code>StringPool</code>.
+   *
+   * @param stringPool the pool to use, may be {@code null} to disable deduplication
+   */
+  public void setStringPool(java.util.function.UnaryOperator<String> stringPool) {
+    this.stringPool = stringPool;
+  } // -- void setStringPool( java.util.function.UnaryOperator )
+
+  /**
+   * Sets the handler notified of every error a strict parse would have failed with. Only used for
+   * non-strict parsing, where it allows a single lenient parse to tell whether the input is also
+   * valid in strict mode.
+   *
+   * @param strictViolationHandler
+   */
+  public void setStrictViolationHandler(
+      java.util.function.Consumer<XmlPullParserException> strictViolationHandler) {
+    this.strictViolationHandler = strictViolationHandler;
+  } // -- void setStrictViolationHandler( java.util.function.Consumer )
+
   // -----------------/
   // - Inner Classes -/
   // -----------------/
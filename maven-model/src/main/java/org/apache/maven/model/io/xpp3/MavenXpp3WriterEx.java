@@ -11,6 +11,7 @@ package org.apache.maven.model.io.xpp3;
 
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
 import org.apache.maven.model.Activation;
 import org.apache.maven.model.ActivationFile;
@@ -79,6 +80,9 @@ public class MavenXpp3WriterEx {
   /** Field fileComment. */
   private String fileComment = null;
 
+  /** Field utf8Serializer. */
+  private Utf8XmlSerializer utf8Serializer;
+
   /** Field stringFormatter. */
   protected InputLocation.StringFormatter stringFormatter;
 
@@ -155,6 +159,34 @@ public class MavenXpp3WriterEx {
     serializer.endDocument();
   } // -- void write( OutputStream, Model )
 
+  /**
+   * Method write. The model is always written in UTF-8, a model encoding other than UTF-8 is
+   * declared as such. The serializer is kept by this writer and reused for subsequent calls.
+   *
+   * @param channel
+   * @param model
+   * @throws java.io.IOException
+   */
+  public void write(WritableByteChannel channel, Model model) throws java.io.IOException {
+    Utf8XmlSerializer serializer = utf8Serializer;
+    if (serializer == null) {
+      serializer = new Utf8XmlSerializer();
+      serializer.setProperty(
+          "http://xmlpull.org/v1/doc/properties.html#serializer-indentation", "  ");
+      serializer.setProperty(
+          "http://xmlpull.org/v1/doc/properties.html#serializer-line-separator", "\n");
+      utf8Serializer = serializer;
+    }
+    String encoding = model.getModelEncoding();
+    if (encoding != null && !"UTF-8".equalsIgnoreCase(encoding)) {
+      encoding = "UTF-8";
+    }
+    serializer.setOutput(channel);
+    serializer.startDocument(encoding, null);
+    writeModel(model, "project", serializer);
+    serializer.endDocument();
+  } // -- void write( WritableByteChannel, Model )
+
   /**
    * Method writeXpp3DomToSerializer.
    *
@@ -0,0 +1,87 @@
+package org.apache.maven.model.io.xpp3;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.function.UnaryOperator;
+
+/**
+ * A bounded, lossy string deduplication pool for values that repeat across many documents, like
+ * group ids, artifact ids, versions, scopes, packaging types and property names. The pool is a
+ * fixed size table indexed by hash: a lookup either returns the equal string already held in the
+ * slot or replaces the slot with the given string. It never grows, never blocks and is safe for
+ * concurrent use since strings are immutable and slot writes are atomic.
+ *
+ * <p>Use {@link #shared()} for a JVM wide pool, or a new instance for a pool scoped to a single
+ * parse or session.
+ *
+ * @since 4.0.0
+ */
+public final class StringPool implements UnaryOperator<String> {
+
+  private static final StringPool SHARED = new StringPool(8192);
+
+  /** Longer values rarely repeat and are not worth a slot. */
+  private static final int MAX_LENGTH = 128;
+
+  private final String[] entries;
+
+  private final int mask;
+
+  /**
+   * Creates a new pool.
+   *
+   * @param capacity The number of slots, rounded up to the next power of two.
+   */
+  public StringPool(int capacity) {
+    int size = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+    this.entries = new String[size];
+    this.mask = size - 1;
+  }
+
+  /**
+   * Gets the JVM wide pool.
+   *
+   * @return The shared pool, never {@code null}.
+   */
+  public static StringPool shared() {
+    return SHARED;
+  }
+
+  /**
+   * Gets the pooled instance of the given value.
+   *
+   * @param value The value to deduplicate, may be {@code null}.
+   * @return A string equal to the given value, or {@code null} if the value was {@code null}.
+   */
+  @Override
+  public String apply(String value) {
+    if (value == null || value.length() > MAX_LENGTH) {
+      return value;
+    }
+    int h = value.hashCode();
+    int index = (h ^ (h >>> 16)) & mask;
+    String pooled = entries[index];
+    if (value.equals(pooled)) {
+      return pooled;
+    }
+    entries[index] = value;
+    return value;
+  }
+}
@@ -0,0 +1,650 @@
+package org.apache.maven.model.io.xpp3;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.codehaus.plexus.util.xml.pull.XmlSerializer;
+
+/**
+ * An {@link XmlSerializer} that encodes UTF-8 directly into a reusable byte buffer which is drained
+ * into a {@link WritableByteChannel}. Element and attribute names are encoded once and cached,
+ * text is escaped and encoded character by character without building intermediate strings. The
+ * output is byte for byte the same as the one of {@link
+ * org.codehaus.plexus.util.xml.pull.MXSerializer MXSerializer} for the subset of the serializer
+ * API used by the model writers and {@link org.codehaus.plexus.util.xml.Xpp3Dom Xpp3Dom}: no
+ * namespaced elements or attributes, default and prefixed namespace declarations via {@link
+ * #setPrefix(String, String)} only. Output to a {@link Writer} is decoded from the same bytes.
+ *
+ * <p>A serializer can be reused for several documents by setting a new output, instances are not
+ * thread-safe.
+ *
+ * @since 4.0.0
+ */
+public class Utf8XmlSerializer implements XmlSerializer {
+
+  private static final String PROPERTY_INDENTATION =
+      "http://xmlpull.org/v1/doc/properties.html#serializer-indentation";
+
+  private static final String PROPERTY_LINE_SEPARATOR =
+      "http://xmlpull.org/v1/doc/properties.html#serializer-line-separator";
+
+  /** The maximum width of the indentation, deeper elements are not indented any further. */
+  private static final int MAX_INDENTATION = 65;
+
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private static final String XML_NAMESPACE = "http://www.w3.org/XML/1998/namespace";
+
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+  private final byte[] bytes = buffer.array();
+
+  private int count;
+
+  private final Map<String, byte[]> names = new HashMap<>(256);
+
+  private final List<String> pendingNamespaces = new ArrayList<>(4);
+
+  private final List<String> openNames = new ArrayList<>(16);
+
+  /** The declared prefixes and namespaces, each followed by the depth of the declaring element. */
+  private final List<Object> namespaceBindings = new ArrayList<>();
+
+  private int generatedPrefixes;
+
+  private WritableByteChannel channel;
+
+  private Writer writer;
+
+  private String indentation;
+
+  private String lineSeparator;
+
+  private boolean startTagIncomplete;
+
+  private boolean seenTag;
+
+  private boolean seenBracket;
+
+  private boolean seenBracketBracket;
+
+  /**
+   * Sets the channel to write to and resets the serializer state. The channel is not closed by the
+   * serializer.
+   *
+   * @param channel The channel to write to, must not be {@code null}.
+   */
+  public void setOutput(WritableByteChannel channel) {
+    this.channel = channel;
+    writer = null;
+    count = 0;
+    pendingNamespaces.clear();
+    openNames.clear();
+    namespaceBindings.clear();
+    generatedPrefixes = 0;
+    startTagIncomplete = false;
+    seenTag = false;
+    seenBracket = false;
+    seenBracketBracket = false;
+  }
+
+  @Override
+  public void setOutput(OutputStream os, String encoding) {
+    if (encoding != null && !"UTF-8".equalsIgnoreCase(encoding)) {
+      throw new IllegalArgumentException("Only UTF-8 output is supported: " + encoding);
+    }
+    setOutput(Channels.newChannel(os));
+  }
+
+  @Override
+  public void setOutput(Writer writer) {
+    setOutput(new WriterChannel(writer));
+    this.writer = writer;
+  }
+
+  @Override
+  public void setFeature(String name, boolean state) {
+    throw new IllegalStateException("Unsupported feature " + name);
+  }
+
+  @Override
+  public boolean getFeature(String name) {
+    return false;
+  }
+
+  @Override
+  public void setProperty(String name, Object value) {
+    if (PROPERTY_INDENTATION.equals(name)) {
+      indentation = (String) value;
+    } else if (PROPERTY_LINE_SEPARATOR.equals(name)) {
+      lineSeparator = (String) value;
+    } else {
+      throw new IllegalStateException("Unsupported property " + name);
+    }
+  }
+
+  @Override
+  public Object getProperty(String name) {
+    if (PROPERTY_INDENTATION.equals(name)) {
+      return indentation;
+    } else if (PROPERTY_LINE_SEPARATOR.equals(name)) {
+      return lineSeparator;
+    }
+    return null;
+  }
+
+  @Override
+  public void startDocument(String encoding, Boolean standalone) throws IOException {
+    writeAscii("<?xml version=\"1.0\"");
+    if (encoding != null) {
+      writeAscii(" encoding=\"");
+      writeAscii(encoding);
+      writeByte('"');
+    }
+    if (standalone != null) {
+      writeAscii(standalone ? " standalone=\"yes\"" : " standalone=\"no\"");
+    }
+    writeAscii("?>");
+    if (lineSeparator != null) {
+      writeAscii(lineSeparator);
+    }
+  }
+
+  @Override
+  public void endDocument() throws IOException {
+    while (!openNames.isEmpty()) {
+      endTag(null, openNames.get(openNames.size() - 1));
+    }
+    if (indentation != null && lineSeparator != null) {
+      writeAscii(lineSeparator);
+    }
+    flush();
+  }
+
+  @Override
+  public void setPrefix(String prefix, String namespace) {
+    pendingNamespaces.add(prefix);
+    pendingNamespaces.add(namespace);
+  }
+
+  @Override
+  public String getPrefix(String namespace, boolean generatePrefix) {
+    if (namespace == null) {
+      throw new IllegalArgumentException("namespace must be not null");
+    } else if (namespace.isEmpty()) {
+      throw new IllegalArgumentException("default namespace cannot have prefix");
+    } else if (XML_NAMESPACE.equals(namespace)) {
+      return "xml";
+    }
+
+    // the declarations of the pending start tag are in scope as well
+    for (int i = pendingNamespaces.size() - 2; i >= 0; i -= 2) {
+      String prefix = pendingNamespaces.get(i);
+      if (namespace.equals(pendingNamespaces.get(i + 1)) && prefix != null && !prefix.isEmpty()) {
+        return prefix;
+      }
+    }
+    for (int i = namespaceBindings.size() - 3; i >= 0; i -= 3) {
+      String prefix = (String) namespaceBindings.get(i);
+      if (namespace.equals(namespaceBindings.get(i + 1)) && prefix != null && !prefix.isEmpty()) {
+        return prefix;
+      }
+    }
+
+    if (!generatePrefix) {
+      return null;
+    }
+    String prefix;
+    do {
+      generatedPrefixes++;
+      prefix = "n" + generatedPrefixes;
+    } while (isBound(prefix));
+    setPrefix(prefix, namespace);
+    return prefix;
+  }
+
+  private boolean isBound(String prefix) {
+    for (int i = 0; i < pendingNamespaces.size(); i += 2) {
+      if (prefix.equals(pendingNamespaces.get(i))) {
+        return true;
+      }
+    }
+    for (int i = 0; i < namespaceBindings.size(); i += 3) {
+      if (prefix.equals(namespaceBindings.get(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int getDepth() {
+    return openNames.size();
+  }
+
+  @Override
+  public String getNamespace() {
+    return null;
+  }
+
+  @Override
+  public String getName() {
+    return openNames.isEmpty() ? null : openNames.get(openNames.size() - 1);
+  }
+
+  @Override
+  public XmlSerializer startTag(String namespace, String name) throws IOException {
+    checkNamespace(namespace);
+    if (startTagIncomplete) {
+      closeStartTag();
+    }
+    seenBracket = false;
+    seenBracketBracket = false;
+    if (indentation != null && !openNames.isEmpty() && seenTag) {
+      writeIndent(openNames.size());
+    }
+    seenTag = true;
+    startTagIncomplete = true;
+    openNames.add(name);
+    writeByte('<');
+    writeName(name);
+    return this;
+  }
+
+  @Override
+  public XmlSerializer attribute(String namespace, String name, String value) throws IOException {
+    if (!startTagIncomplete) {
+      throw new IllegalArgumentException("startTag() must be called before attribute()");
+    }
+    writeByte(' ');
+    writeName(name);
+    writeAscii("=\"");
+    writeAttributeValue(value);
+    writeByte('"');
+    return this;
+  }
+
+  @Override
+  public XmlSerializer endTag(String namespace, String name) throws IOException {
+    checkNamespace(namespace);
+    seenBracket = false;
+    seenBracketBracket = false;
+    if (startTagIncomplete) {
+      writeNamespaceDeclarations();
+      writeAscii(" />");
+    } else {
+      if (indentation != null && seenTag) {
+        writeIndent(openNames.size() - 1);
+      }
+      writeAscii("</");
+      writeName(name);
+      writeByte('>');
+    }
+    openNames.remove(openNames.size() - 1);
+    int depth = openNames.size();
+    while (!namespaceBindings.isEmpty()
+        && (Integer) namespaceBindings.get(namespaceBindings.size() - 1) > depth) {
+      namespaceBindings.subList(namespaceBindings.size() - 3, namespaceBindings.size()).clear();
+    }
+    startTagIncomplete = false;
+    seenTag = true;
+    return this;
+  }
+
+  @Override
+  public XmlSerializer text(String text) throws IOException {
+    beforeContent();
+    for (int i = 0, n = text.length(); i < n; i++) {
+      writeContentChar(text, i);
+      if (Character.isHighSurrogate(text.charAt(i))
+          && i + 1 < n
+          && Character.isLowSurrogate(text.charAt(i + 1))) {
+        i++;
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public XmlSerializer text(char[] buf, int start, int len) throws IOException {
+    return text(new String(buf, start, len));
+  }
+
+  @Override
+  public void cdsect(String text) throws IOException {
+    beforeContent();
+    writeAscii("<![CDATA[");
+    writeRaw(text);
+    writeAscii("]]>");
+  }
+
+  @Override
+  public void entityRef(String text) throws IOException {
+    beforeContent();
+    writeByte('&');
+    writeRaw(text);
+    writeByte(';');
+  }
+
+  @Override
+  public void processingInstruction(String text) throws IOException {
+    beforeContent();
+    writeAscii("<?");
+    writeRaw(text);
+    writeAscii("?>");
+  }
+
+  @Override
+  public void comment(String text) throws IOException {
+    beforeContent();
+    writeAscii("<!--");
+    writeRaw(text);
+    writeAscii("-->");
+  }
+
+  @Override
+  public void docdecl(String text) throws IOException {
+    writeAscii("<!DOCTYPE");
+    writeRaw(text);
+    writeByte('>');
+  }
+
+  @Override
+  public void ignorableWhitespace(String text) throws IOException {
+    beforeContent();
+    writeRaw(text);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    buffer.limit(count).position(0);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+    count = 0;
+    if (writer != null) {
+      writer.flush();
+    }
+  }
+
+  private void checkNamespace(String namespace) {
+    if (namespace != null && !namespace.isEmpty()) {
+      throw new IllegalArgumentException("Namespaced elements are not supported: " + namespace);
+    }
+  }
+
+  private void beforeContent() throws IOException {
+    if (startTagIncomplete) {
+      closeStartTag();
+    }
+    if (indentation != null && seenTag) {
+      seenTag = false;
+    }
+  }
+
+  private void closeStartTag() throws IOException {
+    writeNamespaceDeclarations();
+    writeByte('>');
+    startTagIncomplete = false;
+  }
+
+  private void writeNamespaceDeclarations() throws IOException {
+    for (int i = 0, n = pendingNamespaces.size(); i < n; i += 2) {
+      String prefix = pendingNamespaces.get(i);
+      String namespace = pendingNamespaces.get(i + 1);
+      if (indentation != null && namespace.length() > 40) {
+        // long declarations are wrapped onto their own line
+        writeIndent(openNames.size());
+        writeByte(' ');
+      }
+      if (prefix == null || prefix.isEmpty()) {
+        writeAscii(" xmlns=\"");
+      } else {
+        writeAscii(" xmlns:");
+        writeName(prefix);
+        writeAscii("=\"");
+      }
+      writeAttributeValue(namespace);
+      writeByte('"');
+      namespaceBindings.add(prefix);
+      namespaceBindings.add(namespace);
+      namespaceBindings.add(openNames.size());
+    }
+    pendingNamespaces.clear();
+  }
+
+  private void writeIndent(int level) throws IOException {
+    if (lineSeparator != null) {
+      writeAscii(lineSeparator);
+    }
+    if (!indentation.isEmpty()) {
+      level = Math.min(level, MAX_INDENTATION / indentation.length());
+    }
+    for (int i = 0; i < level; i++) {
+      writeAscii(indentation);
+    }
+  }
+
+  private void writeName(String name) throws IOException {
+    byte[] encoded = names.get(name);
+    if (encoded == null) {
+      encoded = name.getBytes(StandardCharsets.UTF_8);
+      names.put(name, encoded);
+    }
+    if (encoded.length > bytes.length - count) {
+      flush();
+    }
+    System.arraycopy(encoded, 0, bytes, count, encoded.length);
+    count += encoded.length;
+  }
+
+  private void writeAttributeValue(String value) throws IOException {
+    for (int i = 0, n = value.length(); i < n; i++) {
+      char ch = value.charAt(i);
+      switch (ch) {
+        case '&':
+          writeAscii("&amp;");
+          break;
+        case '<':
+          writeAscii("&lt;");
+          break;
+        case '"':
+          writeAscii("&quot;");
+          break;
+        case '\n':
+          writeAscii("&#10;");
+          break;
+        case '\r':
+          writeAscii("&#13;");
+          break;
+        case '\t':
+          writeAscii("&#9;");
+          break;
+        default:
+          checkAllowed(ch);
+          i = writeChar(value, i);
+      }
+    }
+  }
+
+  private void writeContentChar(String text, int i) throws IOException {
+    char ch = text.charAt(i);
+    if (ch == ']') {
+      if (seenBracket) {
+        seenBracketBracket = true;
+      } else {
+        seenBracket = true;
+      }
+      writeByte(']');
+      return;
+    }
+    if (ch == '&') {
+      writeAscii("&amp;");
+    } else if (ch == '<') {
+      writeAscii("&lt;");
+    } else if (ch == '>' && seenBracketBracket) {
+      writeAscii("&gt;");
+    } else if (ch == '\t' || ch == '\n' || ch == '\r') {
+      writeByte(ch);
+    } else {
+      checkAllowed(ch);
+      writeChar(text, i);
+    }
+    seenBracket = false;
+    seenBracketBracket = false;
+  }
+
+  private void checkAllowed(char ch) {
+    if (ch < 0x20) {
+      throw new IllegalStateException("character " + (int) ch + " is not allowed in output");
+    }
+  }
+
+  /** Encodes the character at the given index, returns the index of its last UTF-16 unit. */
+  private int writeChar(String s, int i) throws IOException {
+    char ch = s.charAt(i);
+    if (ch < 0x80) {
+      writeByte(ch);
+    } else if (ch < 0x800) {
+      ensure(2);
+      bytes[count++] = (byte) (0xC0 | (ch >> 6));
+      bytes[count++] = (byte) (0x80 | (ch & 0x3F));
+    } else if (Character.isSurrogate(ch)) {
+      if (Character.isHighSurrogate(ch)
+          && i + 1 < s.length()
+          && Character.isLowSurrogate(s.charAt(i + 1))) {
+        int cp = Character.toCodePoint(ch, s.charAt(i + 1));
+        ensure(4);
+        bytes[count++] = (byte) (0xF0 | (cp >> 18));
+        bytes[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+        bytes[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+        bytes[count++] = (byte) (0x80 | (cp & 0x3F));
+        return i + 1;
+      }
+      // unpaired surrogate, replaced like the JDK encoders do
+      writeByte('?');
+    } else {
+      ensure(3);
+      bytes[count++] = (byte) (0xE0 | (ch >> 12));
+      bytes[count++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+      bytes[count++] = (byte) (0x80 | (ch & 0x3F));
+    }
+    return i;
+  }
+
+  private void writeRaw(String s) throws IOException {
+    for (int i = 0, n = s.length(); i < n; i++) {
+      i = writeChar(s, i);
+    }
+  }
+
+  private void writeAscii(String s) throws IOException {
+    int n = s.length();
+    if (n > bytes.length - count) {
+      flush();
+      if (n > bytes.length) {
+        writeRaw(s);
+        return;
+      }
+    }
+    for (int i = 0; i < n; i++) {
+      bytes[count++] = (byte) s.charAt(i);
+    }
+  }
+
+  private void writeByte(int b) throws IOException {
+    if (count == bytes.length) {
+      flush();
+    }
+    bytes[count++] = (byte) b;
+  }
+
+  private void ensure(int n) throws IOException {
+    if (n > bytes.length - count) {
+      flush();
+    }
+  }
+
+  /** Decodes the UTF-8 output of the serializer into a writer. */
+  private static final class WriterChannel implements WritableByteChannel {
+
+    private final Writer writer;
+
+    private final CharsetDecoder decoder =
+        StandardCharsets.UTF_8
+            .newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    /** The bytes not decoded yet, i.e. the start of a character split by a flush. */
+    private final ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE + 4);
+
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+
+    WriterChannel(Writer writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      int written = src.remaining();
+      while (src.hasRemaining()) {
+        int n = Math.min(src.remaining(), pending.remaining());
+        ByteBuffer chunk = src.slice();
+        chunk.limit(n);
+        pending.put(chunk);
+        src.position(src.position() + n);
+
+        pending.flip();
+        CoderResult result;
+        do {
+          result = decoder.decode(pending, chars, false);
+          writer.write(chars.array(), 0, chars.position());
+          chars.clear();
+        } while (result.isOverflow());
+        pending.compact();
+      }
+      return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
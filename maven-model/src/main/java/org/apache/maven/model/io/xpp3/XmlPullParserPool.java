@@ -0,0 +1,108 @@
+package org.apache.maven.model.io.xpp3;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.Reader;
+import org.codehaus.plexus.util.xml.pull.EntityReplacementMap;
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * Keeps one idle {@link MXParser} per thread, so parsing many small documents does not allocate
+ * the parser buffers and entity tables over and over again. Setting the input of a parser resets
+ * its state while keeping its buffers. A parser acquired and not yet released is never handed out
+ * again, which keeps nested parsing on the same thread safe.
+ *
+ * <pre>
+ * XmlPullParser parser = XmlPullParserPool.get(true).acquire(reader);
+ * try {
+ *   return new MavenXpp3Reader().read(parser, strict);
+ * } finally {
+ *   XmlPullParserPool.get(true).release(parser);
+ * }
+ * </pre>
+ *
+ * @since 4.0.0
+ */
+public final class XmlPullParserPool {
+
+  private static final XmlPullParserPool WITH_DEFAULT_ENTITIES = new XmlPullParserPool(true);
+
+  private static final XmlPullParserPool WITHOUT_DEFAULT_ENTITIES = new XmlPullParserPool(false);
+
+  private final boolean addDefaultEntities;
+
+  private final ThreadLocal<XmlPullParser> idle = new ThreadLocal<>();
+
+  private XmlPullParserPool(boolean addDefaultEntities) {
+    this.addDefaultEntities = addDefaultEntities;
+  }
+
+  /**
+   * Gets the pool for parsers with or without the XHTML entities loaded.
+   *
+   * @param addDefaultEntities Whether the parsers should resolve the XHTML entities.
+   * @return The pool, never {@code null}.
+   */
+  public static XmlPullParserPool get(boolean addDefaultEntities) {
+    return addDefaultEntities ? WITH_DEFAULT_ENTITIES : WITHOUT_DEFAULT_ENTITIES;
+  }
+
+  /**
+   * Acquires a parser for the specified input, reusing the idle parser of the current thread if
+   * any.
+   *
+   * @param reader The input of the parser, must not be {@code null}.
+   * @return The parser positioned at the start of the input, never {@code null}.
+   * @throws XmlPullParserException If the input could not be set.
+   */
+  public XmlPullParser acquire(Reader reader) throws XmlPullParserException {
+    XmlPullParser parser = idle.get();
+    if (parser != null) {
+      idle.remove();
+    } else if (addDefaultEntities) {
+      parser = new MXParser(EntityReplacementMap.defaultEntityReplacementMap);
+    } else {
+      parser = new MXParser();
+    }
+    parser.setInput(reader);
+    return parser;
+  }
+
+  /**
+   * Returns a parser acquired from this pool. The parser drops its input and must no longer be used
+   * by the caller.
+   *
+   * @param parser The parser to release, may be {@code null}.
+   */
+  public void release(XmlPullParser parser) {
+    if (parser == null) {
+      return;
+    }
+    try {
+      parser.setInput(null);
+    } catch (XmlPullParserException e) {
+      // the parser is in an unknown state, let it go
+      return;
+    }
+    idle.set(parser);
+  }
+}
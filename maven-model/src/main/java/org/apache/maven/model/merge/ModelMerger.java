@@ -21,17 +21,16 @@ package org.apache.maven.model.merge;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.RandomAccess;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import org.apache.maven.model.Activation;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.BuildBase;
@@ -2397,93 +2396,127 @@ public class ModelMerger {
   }
 
   /**
-   * Merging list
+   * Merging list. The elements are always held in list form, next to an index of element keys to
+   * list positions. The index is built once and kept up to date by merges and appends, so
+   * consecutive merges into the same target (profile after profile, parent after parent) neither
+   * re-key the target nor copy it between map and list representations. Positional modifications
+   * other than appends drop the index, which is then rebuilt by the next merge.
    *
    * @param <V>
    */
-  private static class MergingList<V> extends AbstractList<V> {
+  private static class MergingList<V> extends AbstractList<V> implements RandomAccess {
     private final KeyComputer<V> keyComputer;
-    private Map<Object, V> map;
-    private List<V> list;
+    private final ArrayList<V> list;
+    private Map<Object, Integer> index;
+    private Object[] keys;
 
     MergingList(KeyComputer<V> keyComputer, int initialCapacity) {
-      this.map = new LinkedHashMap<>(initialCapacity);
       this.keyComputer = keyComputer;
-    }
-
-    @Override
-    public Iterator<V> iterator() {
-      if (map != null) {
-        return map.values().iterator();
-      } else {
-        return list.iterator();
-      }
+      this.list = new ArrayList<>(initialCapacity);
+      this.index = new HashMap<>(initialCapacity * 2);
+      this.keys = new Object[Math.max(initialCapacity, 4)];
     }
 
     void mergeAll(Collection<V> vs, BinaryOperator<V> remapping) {
-      if (map == null) {
-        map =
-            list.stream()
-                .collect(
-                    Collectors.toMap(keyComputer, Function.identity(), null, LinkedHashMap::new));
-
-        list = null;
+      if (index == null) {
+        reindex();
       }
 
-      if (vs instanceof MergingList && ((MergingList<V>) vs).map != null) {
-        for (Map.Entry<Object, V> e : ((MergingList<V>) vs).map.entrySet()) {
-          Object key = e.getKey();
-          V v = e.getValue();
-          map.merge(key, v, remapping);
+      if (vs instanceof MergingList && ((MergingList<V>) vs).index != null) {
+        MergingList<V> other = (MergingList<V>) vs;
+        for (int i = 0, n = other.list.size(); i < n; i++) {
+          merge(other.keys[i], other.list.get(i), remapping);
         }
       } else {
         for (V v : vs) {
-          Object key = keyComputer.apply(v);
-
-          map.merge(key, v, remapping);
+          merge(keyComputer.apply(v), v, remapping);
         }
       }
     }
 
-    @Override
-    public boolean contains(Object o) {
-      if (map != null) {
-        return map.containsValue(o);
+    private void merge(Object key, V v, BinaryOperator<V> remapping) {
+      Integer pos = index.get(key);
+      if (pos == null) {
+        append(key, v);
       } else {
-        return list.contains(o);
+        V merged = remapping.apply(list.get(pos), v);
+        if (merged != null) {
+          list.set(pos, merged);
+        } else {
+          list.remove((int) pos);
+          modCount++;
+          reindex();
+        }
+      }
+    }
+
+    private void append(Object key, V v) {
+      int pos = list.size();
+      if (pos == keys.length) {
+        keys = Arrays.copyOf(keys, pos * 2);
       }
+      keys[pos] = key;
+      index.put(key, pos);
+      list.add(v);
+      modCount++;
     }
 
-    private List<V> asList() {
-      if (list == null) {
-        list = new ArrayList<>(map.values());
-        map = null;
+    /**
+     * Rebuilds the key index from the current list contents. Elements sharing a key collapse into
+     * the position of the first one, holding the value of the last one.
+     */
+    private void reindex() {
+      List<V> values = new ArrayList<>(list);
+      list.clear();
+      index = new HashMap<>(values.size() * 2);
+      keys = new Object[Math.max(values.size(), 4)];
+      for (V v : values) {
+        merge(keyComputer.apply(v), v, (t, s) -> s);
       }
-      return list;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return list.contains(o);
     }
 
     @Override
     public void add(int index, V element) {
-      asList().add(index, element);
+      if (index == list.size() && this.index != null) {
+        Object key = keyComputer.apply(element);
+        if (!this.index.containsKey(key)) {
+          append(key, element);
+          return;
+        }
+      }
+      list.add(index, element);
+      modCount++;
+      this.index = null;
+    }
+
+    @Override
+    public V set(int index, V element) {
+      V previous = list.set(index, element);
+      this.index = null;
+      return previous;
     }
 
     @Override
     public V remove(int index) {
-      return asList().remove(index);
+      V removed = list.remove(index);
+      modCount++;
+      this.index = null;
+      return removed;
     }
 
     @Override
     public V get(int index) {
-      return asList().get(index);
+      return list.get(index);
     }
 
     @Override
     public int size() {
-      if (map != null) {
-        return map.size();
-      } else {
-        return list.size();
-      }
+      return list.size();
     }
   }
 }
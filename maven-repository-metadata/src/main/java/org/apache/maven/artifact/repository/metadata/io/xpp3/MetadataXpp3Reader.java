@@ -51,6 +51,12 @@ public class MetadataXpp3Reader {
   /** Field contentTransformer. */
   public final ContentTransformer contentTransformer;
 
+  /**
+   * Deduplicates the values of coordinate-like fields (ids, versions, classifiers, extensions), may
+   * be {@code null} to keep every parsed string as is.
+   */
+  private java.util.function.UnaryOperator<String> stringPool;
+
   // ----------------/
   // - Constructors -/
   // ----------------/
@@ -451,7 +457,25 @@ public class MetadataXpp3Reader {
    * @return String
    */
   private String interpolatedTrimmed(String value, String context) {
-    return getTrimmedValue(contentTransformer.transform(value, context));
+    String result = getTrimmedValue(contentTransformer.transform(value, context));
+    if (stringPool != null) {
+      switch (context) {
+        case "groupId":
+        case "artifactId":
+        case "version":
+        case "versions":
+        case "latest":
+        case "release":
+        case "classifier":
+        case "extension":
+        case "value":
+        case "prefix":
+          return stringPool.apply(result);
+        default:
+          return result;
+      }
+    }
+    return result;
   } // -- String interpolatedTrimmed( String, String )
 
   /**
@@ -768,7 +792,8 @@ public class MetadataXpp3Reader {
   } // -- Versioning parseVersioning( XmlPullParser, boolean )
 
   /**
-   * Method read.
+   * Reads the metadata from a parser whose input has already been set, which allows to reuse
+   * parsers across documents.
    *
    * @param parser
    * @param strict
@@ -776,7 +801,7 @@ public class MetadataXpp3Reader {
    * @throws XmlPullParserException
    * @return Metadata
    */
-  private Metadata read(XmlPullParser parser, boolean strict)
+  public Metadata read(XmlPullParser parser, boolean strict)
       throws IOException, XmlPullParserException {
     Metadata metadata = null;
     int eventType = parser.getEventType();
@@ -816,6 +841,25 @@ public class MetadataXpp3Reader {
     this.addDefaultEntities = addDefaultEntities;
   } // -- void setAddDefaultEntities( boolean )
 
+  /**
+   * Returns the pool used to deduplicate coordinate-like values.
+   *
+   * @return UnaryOperator
+   */
+  public java.util.function.UnaryOperator<String> getStringPool() {
+    return stringPool;
+  } // -- java.util.function.UnaryOperator<String> getStringPool()
+
+  /**
+   * Sets the pool used to deduplicate coordinate-like values. A pool can be scoped to a single parse
+   * or shared by many readers.
+   *
+   * @param stringPool the pool to use, may be {@code null} to disable deduplication
+   */
+  public void setStringPool(java.util.function.UnaryOperator<String> stringPool) {
+    this.stringPool = stringPool;
+  } // -- void setStringPool( java.util.function.UnaryOperator )
+
   public static interface ContentTransformer {
     /**
      * Interpolate the value read from the xpp3 document
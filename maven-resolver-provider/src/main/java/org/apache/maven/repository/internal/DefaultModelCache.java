@@ -55,6 +55,14 @@ class DefaultModelCache implements ModelCache {
     cache.put(session, new Key(groupId, artifactId, version, tag), data);
   }
 
+  public Object getByContentHash(String contentHash, String tag) {
+    return cache.get(session, new ContentKey(contentHash, tag));
+  }
+
+  public void putByContentHash(String contentHash, String tag, Object data) {
+    cache.put(session, new ContentKey(contentHash, tag), data);
+  }
+
   static class Key {
 
     private final String groupId;
@@ -102,4 +110,41 @@ class DefaultModelCache implements ModelCache {
       return hash;
     }
   }
+
+  static class ContentKey {
+
+    private final String contentHash;
+
+    private final String tag;
+
+    private final int hash;
+
+    ContentKey(String contentHash, String tag) {
+      this.contentHash = contentHash;
+      this.tag = tag;
+
+      int h = 17;
+      h = h * 31 + this.contentHash.hashCode();
+      h = h * 31 + this.tag.hashCode();
+      hash = h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (null == obj || !getClass().equals(obj.getClass())) {
+        return false;
+      }
+
+      ContentKey that = (ContentKey) obj;
+      return contentHash.equals(that.contentHash) && tag.equals(that.tag);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
 }
@@ -19,8 +19,7 @@ package org.apache.maven.repository.internal;
  * under the License.
  */
 
-import java.io.FileInputStream;
-import java.io.InputStream;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -31,7 +30,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.apache.maven.artifact.repository.metadata.Versioning;
-import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.codehaus.plexus.util.ReaderFactory;
 import org.eclipse.aether.RepositoryEvent;
 import org.eclipse.aether.RepositoryEvent.EventType;
 import org.eclipse.aether.RepositorySystemSession;
@@ -223,8 +222,8 @@ public class DefaultVersionRangeResolver implements VersionRangeResolver, Servic
           syncContext.acquire(null, Collections.singleton(metadata));
 
           if (metadata.getFile() != null && metadata.getFile().exists()) {
-            try (InputStream in = new FileInputStream(metadata.getFile())) {
-              versioning = new MetadataXpp3Reader().read(in, false).getVersioning();
+            try (Reader reader = ReaderFactory.newXmlReader(metadata.getFile())) {
+              versioning = MavenMetadata.parse(reader).getVersioning();
             }
           }
         }
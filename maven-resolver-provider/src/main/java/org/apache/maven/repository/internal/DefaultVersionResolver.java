@@ -20,9 +20,8 @@ package org.apache.maven.repository.internal;
  */
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,7 +34,7 @@ import javax.inject.Singleton;
 import org.apache.maven.artifact.repository.metadata.Snapshot;
 import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
 import org.apache.maven.artifact.repository.metadata.Versioning;
-import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.codehaus.plexus.util.ReaderFactory;
 import org.codehaus.plexus.util.StringUtils;
 import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositoryEvent;
@@ -283,8 +282,8 @@ public class DefaultVersionResolver implements VersionResolver, Service {
           syncContext.acquire(null, Collections.singleton(metadata));
 
           if (metadata.getFile() != null && metadata.getFile().exists()) {
-            try (InputStream in = new FileInputStream(metadata.getFile())) {
-              versioning = new MetadataXpp3Reader().read(in, false).getVersioning();
+            try (Reader reader = ReaderFactory.newXmlReader(metadata.getFile())) {
+              versioning = MavenMetadata.parse(reader).getVersioning();
 
               /*
               NOTE: Users occasionally misuse the id "local" for remote repos which screws up the metadata
@@ -29,8 +29,11 @@ import java.util.Map;
 import org.apache.maven.artifact.repository.metadata.Metadata;
 import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
 import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Writer;
+import org.apache.maven.model.io.xpp3.StringPool;
+import org.apache.maven.model.io.xpp3.XmlPullParserPool;
 import org.codehaus.plexus.util.ReaderFactory;
 import org.codehaus.plexus.util.WriterFactory;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.eclipse.aether.RepositoryException;
 import org.eclipse.aether.metadata.AbstractMetadata;
@@ -79,13 +82,37 @@ abstract class MavenMetadata extends AbstractMetadata implements MergeableMetada
 
   protected abstract void merge(Metadata recessive);
 
+  /**
+   * Creates a metadata reader that deduplicates coordinates and versions through the JVM wide
+   * string pool, since the same metadata values are read over and over again.
+   */
+  static MetadataXpp3Reader newMetadataReader() {
+    MetadataXpp3Reader reader = new MetadataXpp3Reader();
+    reader.setStringPool(StringPool.shared());
+    return reader;
+  }
+
+  /**
+   * Parses metadata leniently with a parser reused from the pool of the current thread. The reader
+   * is not closed.
+   */
+  static Metadata parse(Reader reader) throws IOException, XmlPullParserException {
+    XmlPullParserPool pool = XmlPullParserPool.get(true);
+    XmlPullParser parser = pool.acquire(reader);
+    try {
+      return newMetadataReader().read(parser, false);
+    } finally {
+      pool.release(parser);
+    }
+  }
+
   static Metadata read(File metadataFile) throws RepositoryException {
     if (metadataFile.length() <= 0) {
       return new Metadata();
     }
 
     try (Reader reader = ReaderFactory.newXmlReader(metadataFile)) {
-      return new MetadataXpp3Reader().read(reader, false);
+      return parse(reader);
     } catch (IOException e) {
       throw new RepositoryException(
           "Could not read metadata " + metadataFile + ": " + e.getMessage(), e);
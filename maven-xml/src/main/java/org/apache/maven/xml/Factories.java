@@ -19,9 +19,15 @@ package org.apache.maven.xml;
  * under the License.
  */
 
+import java.io.IOException;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerFactory;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.DTDHandler;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXNotRecognizedException;
 import org.xml.sax.SAXNotSupportedException;
@@ -35,6 +41,15 @@ import org.xml.sax.helpers.XMLReaderFactory;
  * @since 3.7.0
  */
 public final class Factories {
+  private static final String NAMESPACES = "http://xml.org/sax/features/namespaces";
+
+  private static final String NAMESPACE_PREFIXES = "http://xml.org/sax/features/namespace-prefixes";
+
+  private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
+
+  /** The reader of each thread that is ready to be handed out again. */
+  private static final ThreadLocal<ReusableXMLReader> XML_READERS = new ThreadLocal<>();
+
   private Factories() {}
 
   /**
@@ -66,4 +81,140 @@ public final class Factories {
     }
     return reader;
   }
+
+  /**
+   * Gets a reader for a single parse. Once that parse has finished, the reader drops its handlers,
+   * gets the default namespace features back and is handed out again by the next call on the
+   * calling thread, which saves looking up and configuring a new parser for every document. Hence
+   * the reader must not be used anymore after its parse.
+   *
+   * @return the reader, never {@code null}
+   * @throws SAXException
+   * @throws ParserConfigurationException
+   * @since 4.0.0
+   */
+  public static XMLReader getXMLReader() throws SAXException, ParserConfigurationException {
+    ReusableXMLReader reader = XML_READERS.get();
+    if (reader == null) {
+      reader = new ReusableXMLReader(newXMLReader());
+    } else {
+      XML_READERS.remove();
+    }
+    reader.leased = true;
+    return reader;
+  }
+
+  /** Passes all calls to the actual reader and puts it back for reuse after the parse. */
+  private static final class ReusableXMLReader implements XMLReader {
+    private final XMLReader reader;
+
+    private boolean leased;
+
+    ReusableXMLReader(XMLReader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public void parse(InputSource input) throws IOException, SAXException {
+      try {
+        reader.parse(input);
+      } finally {
+        release();
+      }
+    }
+
+    @Override
+    public void parse(String systemId) throws IOException, SAXException {
+      try {
+        reader.parse(systemId);
+      } finally {
+        release();
+      }
+    }
+
+    private void release() {
+      if (!leased) {
+        return;
+      }
+      leased = false;
+      try {
+        // don't keep the handlers of the last parse alive
+        reader.setContentHandler(null);
+        reader.setDTDHandler(null);
+        reader.setErrorHandler(null);
+        reader.setEntityResolver(null);
+        reader.setProperty(LEXICAL_HANDLER, null);
+        reader.setFeature(NAMESPACES, true);
+        reader.setFeature(NAMESPACE_PREFIXES, false);
+      } catch (SAXException e) {
+        // a reader that can't be reset is not reused
+        return;
+      }
+      XML_READERS.set(this);
+    }
+
+    @Override
+    public boolean getFeature(String name)
+        throws SAXNotRecognizedException, SAXNotSupportedException {
+      return reader.getFeature(name);
+    }
+
+    @Override
+    public void setFeature(String name, boolean value)
+        throws SAXNotRecognizedException, SAXNotSupportedException {
+      reader.setFeature(name, value);
+    }
+
+    @Override
+    public Object getProperty(String name)
+        throws SAXNotRecognizedException, SAXNotSupportedException {
+      return reader.getProperty(name);
+    }
+
+    @Override
+    public void setProperty(String name, Object value)
+        throws SAXNotRecognizedException, SAXNotSupportedException {
+      reader.setProperty(name, value);
+    }
+
+    @Override
+    public void setEntityResolver(EntityResolver resolver) {
+      reader.setEntityResolver(resolver);
+    }
+
+    @Override
+    public EntityResolver getEntityResolver() {
+      return reader.getEntityResolver();
+    }
+
+    @Override
+    public void setDTDHandler(DTDHandler handler) {
+      reader.setDTDHandler(handler);
+    }
+
+    @Override
+    public DTDHandler getDTDHandler() {
+      return reader.getDTDHandler();
+    }
+
+    @Override
+    public void setContentHandler(ContentHandler handler) {
+      reader.setContentHandler(handler);
+    }
+
+    @Override
+    public ContentHandler getContentHandler() {
+      return reader.getContentHandler();
+    }
+
+    @Override
+    public void setErrorHandler(ErrorHandler handler) {
+      reader.setErrorHandler(handler);
+    }
+
+    @Override
+    public ErrorHandler getErrorHandler() {
+      return reader.getErrorHandler();
+    }
+  }
 }
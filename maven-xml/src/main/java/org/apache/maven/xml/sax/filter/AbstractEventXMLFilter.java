@@ -19,12 +19,6 @@ package org.apache.maven.xml.sax.filter;
  * under the License.
  */
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Queue;
-import org.apache.maven.xml.sax.SAXEvent;
-import org.apache.maven.xml.sax.SAXEventFactory;
 import org.xml.sax.Attributes;
 import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
@@ -36,14 +30,10 @@ import org.xml.sax.SAXException;
  * @since 3.7.0
  */
 abstract class AbstractEventXMLFilter extends AbstractSAXFilter {
-  private Queue<SAXEvent> saxEvents = new ArrayDeque<>();
-
-  private SAXEventFactory eventFactory;
+  private final SAXEventBuffer events = new SAXEventBuffer();
 
   // characters BEFORE startElement must get state of startingElement
   // this way removing based on state keeps correct formatting
-  private List<SAXEvent> charactersSegments = new ArrayList<>();
-
   private boolean lockCharacters = false;
 
   protected abstract boolean isParsing();
@@ -62,40 +52,17 @@ abstract class AbstractEventXMLFilter extends AbstractSAXFilter {
     super(parent);
   }
 
-  private SAXEventFactory getEventFactory() {
-    if (eventFactory == null) {
-      eventFactory = SAXEventFactory.newInstance(getContentHandler(), getLexicalHandler());
-    }
-    return eventFactory;
-  }
-
-  private void processEvent(final SAXEvent event) throws SAXException {
-    if (isParsing()) {
-      final String eventState = getState();
-
-      if (!lockCharacters) {
-        charactersSegments.stream()
-            .forEach(
-                e -> {
-                  saxEvents.add(
-                      () -> {
-                        if (acceptEvent(eventState)) {
-                          e.execute();
-                        }
-                      });
-                });
-        charactersSegments.clear();
-      }
+  /**
+   * Gets the state of an event to buffer, the pending characters get the same state unless they are
+   * locked.
+   */
+  private String getEventState() {
+    final String eventState = getState();
 
-      saxEvents.add(
-          () -> {
-            if (acceptEvent(eventState)) {
-              event.execute();
-            }
-          });
-    } else {
-      event.execute();
+    if (!lockCharacters) {
+      events.flushPendingCharacters(eventState);
     }
+    return eventState;
   }
 
   /**
@@ -111,124 +78,173 @@ abstract class AbstractEventXMLFilter extends AbstractSAXFilter {
   }
 
   protected final void executeEvents() throws SAXException {
-    final String eventState = getState();
-    charactersSegments.stream()
-        .forEach(
-            e -> {
-              saxEvents.add(
-                  () -> {
-                    if (acceptEvent(eventState)) {
-                      e.execute();
-                    }
-                  });
-            });
-    charactersSegments.clear();
-
-    // not with streams due to checked SAXException
-    while (!saxEvents.isEmpty()) {
-      saxEvents.poll().execute();
-    }
+    events.flushPendingCharacters(getState());
+    events.replay(this);
   }
 
   @Override
   public void setDocumentLocator(Locator locator) {
-    try {
-      processEvent(getEventFactory().setDocumentLocator(locator));
-    } catch (SAXException e) {
-      // noop, setDocumentLocator can never throw a SAXException
+    if (isParsing()) {
+      events.setDocumentLocator(getEventState(), locator);
+    } else {
+      super.setDocumentLocator(locator);
     }
   }
 
   @Override
   public void startDocument() throws SAXException {
-    processEvent(getEventFactory().startDocument());
+    if (isParsing()) {
+      events.startDocument(getEventState());
+    } else {
+      super.startDocument();
+    }
   }
 
   @Override
   public void endDocument() throws SAXException {
-    processEvent(getEventFactory().endDocument());
+    if (isParsing()) {
+      events.endDocument(getEventState());
+    } else {
+      super.endDocument();
+    }
   }
 
   @Override
   public void startPrefixMapping(String prefix, String uri) throws SAXException {
-    processEvent(getEventFactory().startPrefixMapping(prefix, uri));
+    if (isParsing()) {
+      events.startPrefixMapping(getEventState(), prefix, uri);
+    } else {
+      super.startPrefixMapping(prefix, uri);
+    }
   }
 
   @Override
   public void endPrefixMapping(String prefix) throws SAXException {
-    processEvent(getEventFactory().endPrefixMapping(prefix));
+    if (isParsing()) {
+      events.endPrefixMapping(getEventState(), prefix);
+    } else {
+      super.endPrefixMapping(prefix);
+    }
   }
 
   @Override
   public void startElement(String uri, String localName, String qName, Attributes atts)
       throws SAXException {
-    processEvent(getEventFactory().startElement(uri, localName, qName, atts));
+    if (isParsing()) {
+      events.startElement(getEventState(), uri, localName, qName, atts);
+    } else {
+      super.startElement(uri, localName, qName, atts);
+    }
   }
 
   @Override
   public void endElement(String uri, String localName, String qName) throws SAXException {
-    processEvent(getEventFactory().endElement(uri, localName, qName));
+    if (isParsing()) {
+      events.endElement(getEventState(), uri, localName, qName);
+    } else {
+      super.endElement(uri, localName, qName);
+    }
   }
 
   @Override
   public void characters(char[] ch, int start, int length) throws SAXException {
-    if (lockCharacters) {
-      processEvent(getEventFactory().characters(ch, start, length));
-    } else if (isParsing()) {
-      this.charactersSegments.add(getEventFactory().characters(ch, start, length));
-    } else {
+    if (!isParsing()) {
       super.characters(ch, start, length);
+    } else if (lockCharacters) {
+      events.characters(getEventState(), ch, start, length);
+    } else {
+      events.addPendingCharacters(ch, start, length);
     }
   }
 
   @Override
   public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
-    processEvent(getEventFactory().ignorableWhitespace(ch, start, length));
+    if (isParsing()) {
+      events.ignorableWhitespace(getEventState(), ch, start, length);
+    } else {
+      super.ignorableWhitespace(ch, start, length);
+    }
   }
 
   @Override
   public void processingInstruction(String target, String data) throws SAXException {
-    processEvent(getEventFactory().processingInstruction(target, data));
+    if (isParsing()) {
+      events.processingInstruction(getEventState(), target, data);
+    } else {
+      super.processingInstruction(target, data);
+    }
   }
 
   @Override
   public void skippedEntity(String name) throws SAXException {
-    processEvent(getEventFactory().skippedEntity(name));
+    if (isParsing()) {
+      events.skippedEntity(getEventState(), name);
+    } else {
+      super.skippedEntity(name);
+    }
   }
 
   @Override
   public void startDTD(String name, String publicId, String systemId) throws SAXException {
-    processEvent(getEventFactory().startCDATA());
+    if (isParsing()) {
+      events.startDTD(getEventState(), name, publicId, systemId);
+    } else {
+      super.startDTD(name, publicId, systemId);
+    }
   }
 
   @Override
   public void endDTD() throws SAXException {
-    processEvent(getEventFactory().endDTD());
+    if (isParsing()) {
+      events.endDTD(getEventState());
+    } else {
+      super.endDTD();
+    }
   }
 
   @Override
   public void startEntity(String name) throws SAXException {
-    processEvent(getEventFactory().startEntity(name));
+    if (isParsing()) {
+      events.startEntity(getEventState(), name);
+    } else {
+      super.startEntity(name);
+    }
   }
 
   @Override
   public void endEntity(String name) throws SAXException {
-    processEvent(getEventFactory().endEntity(name));
+    if (isParsing()) {
+      events.endEntity(getEventState(), name);
+    } else {
+      super.endEntity(name);
+    }
   }
 
   @Override
   public void startCDATA() throws SAXException {
-    processEvent(getEventFactory().startCDATA());
+    if (isParsing()) {
+      events.startCDATA(getEventState());
+    } else {
+      super.startCDATA();
+    }
   }
 
   @Override
   public void endCDATA() throws SAXException {
-    processEvent(getEventFactory().endCDATA());
+    if (isParsing()) {
+      events.endCDATA(getEventState());
+    } else {
+      super.endCDATA();
+    }
   }
 
   @Override
   public void comment(char[] ch, int start, int length) throws SAXException {
-    processEvent(getEventFactory().comment(ch, start, length));
+    if (isParsing()) {
+      events.comment(getEventState(), ch, start, length);
+    } else {
+      super.comment(ch, start, length);
+    }
   }
 
   /**
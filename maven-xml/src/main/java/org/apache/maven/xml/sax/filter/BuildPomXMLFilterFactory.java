@@ -82,8 +82,58 @@ public class BuildPomXMLFilterFactory {
     return new BuildPomXMLFilter(parent);
   }
 
+  /**
+   * Gets a single filter with the same output as the chain of {@link #get(Path)}.
+   *
+   * @param projectFile the file of the project to filter
+   * @return the filter, never {@code null}
+   * @throws SAXException
+   * @throws ParserConfigurationException
+   * @since 4.0.0
+   */
+  public final FusedPomXMLFilter getFused(Path projectFile)
+      throws SAXException, ParserConfigurationException {
+    return newFusedFilter(projectFile, false);
+  }
+
+  FusedPomXMLFilter newFusedFilter(Path projectFile, boolean consumer)
+      throws SAXException, ParserConfigurationException {
+    FusedPomXMLFilter filter =
+        new FusedPomXMLFilter(
+            getXMLReader(),
+            getDependencyKeyToVersionMapper(),
+            getRelativePathMapper(),
+            projectFile.getParent(),
+            consumer);
+    if (lexicalHandlerConsumer != null) {
+      lexicalHandlerConsumer.accept(filter);
+    }
+    return filter;
+  }
+
+  /**
+   * Tells whether the filters of {@link #get(Path)} may change the POM. If not, the POM can be used
+   * as is, without parsing and serializing it again.
+   *
+   * @param pom the bytes of the POM
+   * @return {@code false} if the filters will pass every event unchanged, otherwise {@code true}
+   * @since 4.0.0
+   */
+  public final boolean mayRewrite(byte[] pom) {
+    return mayRewrite(pom, false, false);
+  }
+
+  boolean mayRewrite(byte[] pom, boolean consumer, boolean ciFriendly) {
+    return PomRewriteScanner.mayRewrite(
+        pom,
+        getDependencyKeyToVersionMapper() != null,
+        getRelativePathMapper() != null,
+        consumer,
+        ciFriendly);
+  }
+
   private XMLReader getXMLReader() throws SAXException, ParserConfigurationException {
-    XMLReader xmlReader = Factories.newXMLReader();
+    XMLReader xmlReader = Factories.getXMLReader();
     xmlReader.setFeature("http://xml.org/sax/features/namespaces", true);
     return xmlReader;
   }
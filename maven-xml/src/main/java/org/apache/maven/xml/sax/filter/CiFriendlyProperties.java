@@ -0,0 +1,165 @@
+package org.apache.maven.xml.sax.filter;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the text of a version and replaces the CI friendly properties in it within a single
+ * pass, using reusable buffers. The properties are replaced as if one after the other in the order
+ * they were set, i.e. the value of a property may contain the properties set after it.
+ *
+ * @since 4.0.0
+ */
+final class CiFriendlyProperties {
+  private final Map<String, String> properties = new LinkedHashMap<>();
+
+  // the table, computed when the first version is replaced
+  private char[][] names;
+
+  private char[][] values;
+
+  private char[] text = new char[64];
+
+  private int textLength;
+
+  private boolean hasText;
+
+  private char[] replaced = new char[64];
+
+  private char[] chars;
+
+  private int length;
+
+  void set(String name, String value) {
+    properties.put(name, value);
+    names = null;
+  }
+
+  boolean isSet() {
+    return !properties.isEmpty();
+  }
+
+  void append(char[] ch, int start, int length) {
+    text = ensureCapacity(text, textLength + length);
+    System.arraycopy(ch, start, text, textLength, length);
+    textLength += length;
+    hasText = true;
+  }
+
+  /** @return {@code true} if any characters were appended since the last replacement */
+  boolean hasText() {
+    return hasText;
+  }
+
+  /**
+   * Replaces the properties in the collected text, which is then available from {@link
+   * #getChars()} until the next text is appended.
+   */
+  void replace() {
+    if (names == null) {
+      initTable();
+    }
+
+    chars = text;
+    length = textLength;
+    int end = textLength - 1;
+    for (int i = 0; i < end; i++) {
+      if (text[i] == '$' && text[i + 1] == '{') {
+        replaceFrom(i);
+        break;
+      }
+    }
+    textLength = 0;
+    hasText = false;
+  }
+
+  char[] getChars() {
+    return chars;
+  }
+
+  int getLength() {
+    return length;
+  }
+
+  private void replaceFrom(int first) {
+    replaced = ensureCapacity(replaced, first);
+    System.arraycopy(text, 0, replaced, 0, first);
+    int count = first;
+
+    int i = first;
+    while (i < textLength) {
+      int property = (text[i] == '$') ? match(i) : -1;
+      if (property < 0) {
+        replaced = ensureCapacity(replaced, count + 1);
+        replaced[count++] = text[i++];
+      } else {
+        char[] value = values[property];
+        replaced = ensureCapacity(replaced, count + value.length);
+        System.arraycopy(value, 0, replaced, count, value.length);
+        count += value.length;
+        i += names[property].length + 3;
+      }
+    }
+
+    chars = replaced;
+    length = count;
+  }
+
+  /** @return the index of the property whose placeholder starts at i, otherwise -1 */
+  private int match(int i) {
+    for (int property = 0; property < names.length; property++) {
+      char[] name = names[property];
+      int close = i + 2 + name.length;
+      if (close < textLength
+          && text[i + 1] == '{'
+          && text[close] == '}'
+          && Arrays.equals(text, i + 2, close, name, 0, name.length)) {
+        return property;
+      }
+    }
+    return -1;
+  }
+
+  private void initTable() {
+    String[] n = properties.keySet().toArray(new String[0]);
+    String[] v = properties.values().toArray(new String[0]);
+    names = new char[n.length][];
+    values = new char[n.length][];
+    for (int i = 0; i < n.length; i++) {
+      // the properties set later are replaced in the value too
+      String value = v[i];
+      for (int j = i + 1; j < n.length; j++) {
+        value = value.replace("${" + n[j] + "}", v[j]);
+      }
+      names[i] = n[i].toCharArray();
+      values[i] = value.toCharArray();
+    }
+  }
+
+  private static char[] ensureCapacity(char[] buffer, int capacity) {
+    if (capacity <= buffer.length) {
+      return buffer;
+    }
+    return Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+  }
+}
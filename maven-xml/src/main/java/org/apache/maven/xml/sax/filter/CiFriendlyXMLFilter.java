@@ -19,7 +19,6 @@ package org.apache.maven.xml.sax.filter;
  * under the License.
  */
 
-import java.util.function.Function;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -30,9 +29,7 @@ import org.xml.sax.SAXException;
  * @since 3.7.0
  */
 class CiFriendlyXMLFilter extends AbstractSAXFilter {
-  private Function<String, String> replaceChain = Function.identity();
-
-  private String characters;
+  private final CiFriendlyProperties properties = new CiFriendlyProperties();
 
   private boolean parseVersion;
 
@@ -45,29 +42,29 @@ class CiFriendlyXMLFilter extends AbstractSAXFilter {
   }
 
   public CiFriendlyXMLFilter setChangelist(String changelist) {
-    replaceChain = replaceChain.andThen(t -> t.replace("${changelist}", changelist));
+    properties.set("changelist", changelist);
     return this;
   }
 
   public CiFriendlyXMLFilter setRevision(String revision) {
-    replaceChain = replaceChain.andThen(t -> t.replace("${revision}", revision));
+    properties.set("revision", revision);
     return this;
   }
 
   public CiFriendlyXMLFilter setSha1(String sha1) {
-    replaceChain = replaceChain.andThen(t -> t.replace("${sha1}", sha1));
+    properties.set("sha1", sha1);
     return this;
   }
 
   /** @return {@code true} is any of the ci properties is set, otherwise {@code false} */
   public boolean isSet() {
-    return !replaceChain.equals(Function.identity());
+    return properties.isSet();
   }
 
   @Override
   public void characters(char[] ch, int start, int length) throws SAXException {
     if (parseVersion) {
-      this.characters = nullSafeAppend(characters, new String(ch, start, length));
+      properties.append(ch, start, length);
     } else {
       super.characters(ch, start, length);
     }
@@ -86,15 +83,10 @@ class CiFriendlyXMLFilter extends AbstractSAXFilter {
   @Override
   public void endElement(String uri, String localName, String qName) throws SAXException {
     if (parseVersion) {
-      // assuming this has the best performance
-      if (characters != null && characters.contains("${")) {
-        char[] ch = replaceChain.apply(characters).toCharArray();
-        super.characters(ch, 0, ch.length);
-      } else {
-        char[] ch = characters.toCharArray();
-        super.characters(ch, 0, ch.length);
+      if (properties.hasText()) {
+        properties.replace();
+        super.characters(properties.getChars(), 0, properties.getLength());
       }
-      characters = null;
       parseVersion = false;
     }
 
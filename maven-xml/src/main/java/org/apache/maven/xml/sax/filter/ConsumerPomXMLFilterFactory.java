@@ -60,6 +60,38 @@ public class ConsumerPomXMLFilterFactory {
     return new ConsumerPomXMLFilter(filter);
   }
 
+  /**
+   * Gets a single filter with the same output as the chain of {@link #get(Path)}.
+   *
+   * @param projectPath the file of the project to filter
+   * @return the filter, never {@code null}
+   * @throws SAXException
+   * @throws ParserConfigurationException
+   * @since 4.0.0
+   */
+  public final FusedPomXMLFilter getFused(Path projectPath)
+      throws SAXException, ParserConfigurationException {
+    FusedPomXMLFilter filter = buildPomXMLFilterFactory.newFusedFilter(projectPath, true);
+    getChangelist().ifPresent(filter::setChangelist);
+    getRevision().ifPresent(filter::setRevision);
+    getSha1().ifPresent(filter::setSha1);
+    return filter;
+  }
+
+  /**
+   * Tells whether the filters of {@link #get(Path)} may change the POM. If not, the POM can be used
+   * as is, without parsing and serializing it again.
+   *
+   * @param pom the bytes of the POM
+   * @return {@code false} if the filters will pass every event unchanged, otherwise {@code true}
+   * @since 4.0.0
+   */
+  public final boolean mayRewrite(byte[] pom) {
+    boolean ciFriendly =
+        getChangelist().isPresent() || getRevision().isPresent() || getSha1().isPresent();
+    return buildPomXMLFilterFactory.mayRewrite(pom, true, ciFriendly);
+  }
+
   // getters for the 3 magic properties of CIFriendly versions (
   // https://maven.apache.org/maven-ci-friendly.html )
 
@@ -0,0 +1,807 @@
+package org.apache.maven.xml.sax.filter;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.apache.maven.xml.sax.SAXEventUtils;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Performs all rewrites of the build and consumer filter chains in a single filter, producing the
+ * same output as the chain built by {@link BuildPomXMLFilterFactory#get(Path)} respectively {@link
+ * ConsumerPomXMLFilterFactory#get(Path)}. Every event is classified once by its element name and
+ * then passes the rewrite stages as plain method calls, in the order of the chain:
+ *
+ * <ol>
+ *   <li>reactor dependency versions, see {@link ReactorDependencyXMLFilter}
+ *   <li>parent version, see {@link ParentXMLFilter}
+ *   <li>DOM sections which skip the consumer stages, see {@link FastForwardFilter}
+ *   <li>CI friendly versions, see {@link CiFriendlyXMLFilter}
+ *   <li>module removal, see {@link ModulesXMLFilter}
+ *   <li>relativePath removal, see {@link RelativePathXMLFilter}
+ * </ol>
+ *
+ * Instead of collecting complete blocks the stages only hold back the characters following the
+ * last other event of a block, which is all that is needed to insert or drop events at the right
+ * position.
+ *
+ * @since 4.0.0
+ */
+public class FusedPomXMLFilter extends AbstractSAXFilter {
+  // element codes
+  private static final int NONE = -1;
+
+  private static final int OTHER = 0;
+
+  private static final int PROJECT = 1;
+
+  private static final int PARENT = 2;
+
+  private static final int GROUP_ID = 3;
+
+  private static final int ARTIFACT_ID = 4;
+
+  private static final int VERSION = 5;
+
+  private static final int RELATIVE_PATH = 6;
+
+  private static final int DEPENDENCY = 7;
+
+  private static final int MODULES = 8;
+
+  private static final int EXECUTION = 9;
+
+  private static final int PLUGIN = 10;
+
+  private static final int PROFILE = 11;
+
+  private static final int REPORT_SET = 12;
+
+  private static final int CONFIGURATION = 13;
+
+  private static final int GOALS = 14;
+
+  private static final int REPORTS = 15;
+
+  // types of the events other than elements and characters
+  private static final int PROCESSING_INSTRUCTION = 0;
+
+  private static final int IGNORABLE_WHITESPACE = 1;
+
+  private static final int START_PREFIX_MAPPING = 2;
+
+  private static final int END_PREFIX_MAPPING = 3;
+
+  private static final int SKIPPED_ENTITY = 4;
+
+  private static final int COMMENT = 5;
+
+  private static final int START_CDATA = 6;
+
+  private static final int END_CDATA = 7;
+
+  private static final int START_DTD = 8;
+
+  private static final int END_DTD = 9;
+
+  private static final int START_ENTITY = 10;
+
+  private static final int END_ENTITY = 11;
+
+  private final BiFunction<String, String, String> dependencyKeyToVersionMapper;
+
+  private final Function<Path, Optional<RelativeProject>> relativePathMapper;
+
+  private final Path projectPath;
+
+  private final boolean consumer;
+
+  // the other event passing the stages
+  private int otherType;
+
+  private String otherName;
+
+  private String otherValue;
+
+  private String otherExtra;
+
+  private char[] otherChars;
+
+  private int otherStart;
+
+  private int otherLength;
+
+  // reactor dependency stage
+  private boolean parsingDependency;
+
+  private int dependencyState = NONE;
+
+  private boolean dependencyHasVersion;
+
+  private String dependencyWhitespace;
+
+  private String dependencyGroupId;
+
+  private String dependencyArtifactId;
+
+  private final CharRun dependencyRun = new CharRun();
+
+  // parent stage
+  private boolean parsingParent;
+
+  private int parentState = NONE;
+
+  private String parentWhitespace = "";
+
+  private String parentGroupId;
+
+  private String parentArtifactId;
+
+  private String parentRelativePath;
+
+  private boolean parentHasVersion;
+
+  private final CharRun parentRun = new CharRun();
+
+  // fast forward stage
+  private int[] elements = new int[16];
+
+  private int elementCount;
+
+  private int domDepth;
+
+  // CI friendly stage
+  private final CiFriendlyProperties ciFriendlyProperties = new CiFriendlyProperties();
+
+  private boolean parseVersion;
+
+  // modules stage
+  private boolean parsingModules;
+
+  // relativePath stage
+  private boolean parsingRelativePathParent;
+
+  private int relativePathState = NONE;
+
+  private final CharRun relativePathRun = new CharRun();
+
+  FusedPomXMLFilter(
+      XMLReader parent,
+      BiFunction<String, String, String> dependencyKeyToVersionMapper,
+      Function<Path, Optional<RelativeProject>> relativePathMapper,
+      Path projectPath,
+      boolean consumer) {
+    super.setParent(parent);
+    this.dependencyKeyToVersionMapper = dependencyKeyToVersionMapper;
+    this.relativePathMapper = relativePathMapper;
+    this.projectPath = projectPath;
+    this.consumer = consumer;
+  }
+
+  /** Don't allow overwriting parent */
+  @Override
+  public final void setParent(XMLReader parent) {
+    if (getParent() == null) {
+      super.setParent(parent);
+    }
+  }
+
+  void setChangelist(String changelist) {
+    ciFriendlyProperties.set("changelist", changelist);
+  }
+
+  void setRevision(String revision) {
+    ciFriendlyProperties.set("revision", revision);
+  }
+
+  void setSha1(String sha1) {
+    ciFriendlyProperties.set("sha1", sha1);
+  }
+
+  private boolean isCiFriendly() {
+    return ciFriendlyProperties.isSet();
+  }
+
+  private static int code(String localName) {
+    switch (localName) {
+      case "project":
+        return PROJECT;
+      case "parent":
+        return PARENT;
+      case "groupId":
+        return GROUP_ID;
+      case "artifactId":
+        return ARTIFACT_ID;
+      case "version":
+        return VERSION;
+      case "relativePath":
+        return RELATIVE_PATH;
+      case "dependency":
+        return DEPENDENCY;
+      case "modules":
+        return MODULES;
+      case "execution":
+        return EXECUTION;
+      case "plugin":
+        return PLUGIN;
+      case "profile":
+        return PROFILE;
+      case "reportSet":
+        return REPORT_SET;
+      case "configuration":
+        return CONFIGURATION;
+      case "goals":
+        return GOALS;
+      case "reports":
+        return REPORTS;
+      default:
+        return OTHER;
+    }
+  }
+
+  private static boolean isDom(int parent, int element) {
+    switch (element) {
+      case CONFIGURATION:
+        return parent == EXECUTION || parent == PLUGIN || parent == REPORT_SET;
+      case GOALS:
+        return parent == PLUGIN;
+      case REPORTS:
+        return parent == PROFILE || parent == PROJECT;
+      default:
+        return false;
+    }
+  }
+
+  // -- events entering the filter
+
+  @Override
+  public void startElement(String uri, String localName, String qName, Attributes atts)
+      throws SAXException {
+    dependencyStart(code(localName), uri, localName, qName, atts);
+  }
+
+  @Override
+  public void endElement(String uri, String localName, String qName) throws SAXException {
+    dependencyEnd(code(localName), uri, localName, qName);
+  }
+
+  @Override
+  public void characters(char[] ch, int start, int length) throws SAXException {
+    dependencyCharacters(ch, start, length);
+  }
+
+  @Override
+  public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+    other(IGNORABLE_WHITESPACE, null, null, null, ch, start, length);
+  }
+
+  @Override
+  public void processingInstruction(String target, String data) throws SAXException {
+    other(PROCESSING_INSTRUCTION, target, data, null, null, 0, 0);
+  }
+
+  @Override
+  public void startPrefixMapping(String prefix, String uri) throws SAXException {
+    other(START_PREFIX_MAPPING, prefix, uri, null, null, 0, 0);
+  }
+
+  @Override
+  public void endPrefixMapping(String prefix) throws SAXException {
+    other(END_PREFIX_MAPPING, prefix, null, null, null, 0, 0);
+  }
+
+  @Override
+  public void skippedEntity(String name) throws SAXException {
+    other(SKIPPED_ENTITY, name, null, null, null, 0, 0);
+  }
+
+  @Override
+  public void comment(char[] ch, int start, int length) throws SAXException {
+    other(COMMENT, null, null, null, ch, start, length);
+  }
+
+  @Override
+  public void startCDATA() throws SAXException {
+    other(START_CDATA, null, null, null, null, 0, 0);
+  }
+
+  @Override
+  public void endCDATA() throws SAXException {
+    other(END_CDATA, null, null, null, null, 0, 0);
+  }
+
+  @Override
+  public void startDTD(String name, String publicId, String systemId) throws SAXException {
+    other(START_DTD, name, publicId, systemId, null, 0, 0);
+  }
+
+  @Override
+  public void endDTD() throws SAXException {
+    other(END_DTD, null, null, null, null, 0, 0);
+  }
+
+  @Override
+  public void startEntity(String name) throws SAXException {
+    other(START_ENTITY, name, null, null, null, 0, 0);
+  }
+
+  @Override
+  public void endEntity(String name) throws SAXException {
+    other(END_ENTITY, name, null, null, null, 0, 0);
+  }
+
+  private void other(
+      int type, String name, String value, String extra, char[] ch, int start, int length)
+      throws SAXException {
+    otherType = type;
+    otherName = name;
+    otherValue = value;
+    otherExtra = extra;
+    otherChars = ch;
+    otherStart = start;
+    otherLength = length;
+    dependencyOther();
+  }
+
+  // -- reactor dependency stage: adds the version of reactor dependencies without one
+
+  private void dependencyStart(
+      int code, String uri, String localName, String qName, Attributes atts) throws SAXException {
+    if (dependencyKeyToVersionMapper != null) {
+      if (!parsingDependency && code == DEPENDENCY) {
+        parsingDependency = true;
+      }
+      if (parsingDependency) {
+        dependencyState = code;
+        dependencyHasVersion |= code == VERSION;
+        dependencyRun.flush(this, 0);
+      }
+    }
+    parentStart(code, uri, localName, qName, atts);
+  }
+
+  private void dependencyCharacters(char[] ch, int start, int length) throws SAXException {
+    if (parsingDependency) {
+      switch (dependencyState) {
+        case DEPENDENCY:
+          dependencyWhitespace = append(dependencyWhitespace, ch, start, length);
+          break;
+        case GROUP_ID:
+          dependencyGroupId = append(dependencyGroupId, ch, start, length);
+          break;
+        case ARTIFACT_ID:
+          dependencyArtifactId = append(dependencyArtifactId, ch, start, length);
+          break;
+        default:
+          break;
+      }
+      dependencyRun.append(ch, start, length);
+    } else {
+      parentCharacters(ch, start, length);
+    }
+  }
+
+  private void dependencyEnd(int code, String uri, String localName, String qName)
+      throws SAXException {
+    if (parsingDependency) {
+      if (code == DEPENDENCY) {
+        if (!dependencyHasVersion) {
+          String version =
+              dependencyKeyToVersionMapper.apply(dependencyGroupId, dependencyArtifactId);
+          if (version != null) {
+            if (dependencyWhitespace != null) {
+              char[] ch = dependencyWhitespace.toCharArray();
+              parentCharacters(ch, 0, ch.length);
+            }
+            String versionQName = SAXEventUtils.renameQName(qName, "version");
+            parentStart(VERSION, uri, "version", versionQName, null);
+            char[] ch = version.toCharArray();
+            parentCharacters(ch, 0, ch.length);
+            parentEnd(VERSION, uri, "version", versionQName);
+          }
+        }
+        dependencyRun.flush(this, 0);
+
+        parsingDependency = false;
+        // reset
+        dependencyWhitespace = null;
+        dependencyGroupId = null;
+        dependencyArtifactId = null;
+        dependencyHasVersion = false;
+      } else {
+        dependencyRun.flush(this, 0);
+      }
+    }
+    dependencyState = NONE;
+    parentEnd(code, uri, localName, qName);
+  }
+
+  private void dependencyOther() throws SAXException {
+    if (parsingDependency) {
+      dependencyRun.flush(this, 0);
+    }
+    parentOther();
+  }
+
+  // -- parent stage: adds the version of a parent resolved by its relativePath
+
+  private void parentStart(int code, String uri, String localName, String qName, Attributes atts)
+      throws SAXException {
+    if (relativePathMapper != null) {
+      if (!parsingParent && code == PARENT) {
+        parsingParent = true;
+      }
+      if (parsingParent) {
+        parentState = code;
+        parentHasVersion |= code == VERSION;
+        parentRun.flush(this, 1);
+      }
+    }
+    fastForwardStart(code, uri, localName, qName, atts);
+  }
+
+  private void parentCharacters(char[] ch, int start, int length) throws SAXException {
+    if (parsingParent) {
+      switch (parentState) {
+        case PARENT:
+          parentWhitespace = append(parentWhitespace, ch, start, length);
+          break;
+        case RELATIVE_PATH:
+          parentRelativePath = append(parentRelativePath, ch, start, length);
+          break;
+        case GROUP_ID:
+          parentGroupId = append(parentGroupId, ch, start, length);
+          break;
+        case ARTIFACT_ID:
+          parentArtifactId = append(parentArtifactId, ch, start, length);
+          break;
+        default:
+          break;
+      }
+      parentRun.append(ch, start, length);
+    } else {
+      fastForwardCharacters(ch, start, length);
+    }
+  }
+
+  private void parentEnd(int code, String uri, String localName, String qName)
+      throws SAXException {
+    if (parsingParent) {
+      if (code == PARENT) {
+        Optional<RelativeProject> resolvedParent = null;
+        if (!parentHasVersion || parentRelativePath != null) {
+          resolvedParent =
+              resolveRelativePath(Paths.get(Objects.toString(parentRelativePath, "../pom.xml")));
+        }
+
+        if (!parentHasVersion && resolvedParent.isPresent()) {
+          char[] ch = parentWhitespace.toCharArray();
+          fastForwardCharacters(ch, 0, ch.length);
+          String versionQName = SAXEventUtils.renameQName(qName, "version");
+          fastForwardStart(VERSION, uri, "version", versionQName, null);
+          ch = resolvedParent.get().getVersion().toCharArray();
+          fastForwardCharacters(ch, 0, ch.length);
+          fastForwardEnd(VERSION, uri, "version", versionQName);
+        }
+        parentRun.flush(this, 1);
+
+        parsingParent = false;
+      } else {
+        parentRun.flush(this, 1);
+      }
+    }
+    parentState = NONE;
+    fastForwardEnd(code, uri, localName, qName);
+  }
+
+  private void parentOther() throws SAXException {
+    if (parsingParent) {
+      parentRun.flush(this, 1);
+    }
+    fastForwardOther();
+  }
+
+  private Optional<RelativeProject> resolveRelativePath(Path relativePath) {
+    Optional<RelativeProject> mappedProject =
+        relativePathMapper.apply(projectPath.resolve(relativePath).normalize());
+
+    if (mappedProject.isPresent()) {
+      RelativeProject project = mappedProject.get();
+
+      if (Objects.equals(parentGroupId, project.getGroupId())
+          && Objects.equals(parentArtifactId, project.getArtifactId())) {
+        return mappedProject;
+      }
+    }
+    return Optional.empty();
+  }
+
+  // -- fast forward stage: DOM sections skip all following stages
+
+  private void fastForwardStart(
+      int code, String uri, String localName, String qName, Attributes atts) throws SAXException {
+    if (!consumer) {
+      super.startElement(uri, localName, qName, atts);
+    } else if (domDepth > 0) {
+      super.startElement(uri, localName, qName, atts);
+      domDepth++;
+    } else {
+      ciFriendlyStart(code, uri, localName, qName, atts);
+      if (isDom(elementCount > 0 ? elements[elementCount - 1] : NONE, code)) {
+        domDepth++;
+      }
+      if (elementCount == elements.length) {
+        elements = Arrays.copyOf(elements, elementCount * 2);
+      }
+      elements[elementCount++] = code;
+    }
+  }
+
+  private void fastForwardCharacters(char[] ch, int start, int length) throws SAXException {
+    if (!consumer || domDepth > 0) {
+      super.characters(ch, start, length);
+    } else {
+      ciFriendlyCharacters(ch, start, length);
+    }
+  }
+
+  private void fastForwardEnd(int code, String uri, String localName, String qName)
+      throws SAXException {
+    if (!consumer) {
+      super.endElement(uri, localName, qName);
+    } else if (domDepth > 0) {
+      domDepth--;
+      if (domDepth == 0) {
+        ciFriendlyEnd(code, uri, localName, qName);
+      } else {
+        super.endElement(uri, localName, qName);
+      }
+    } else {
+      // the DOM section itself is never popped, exactly like FastForwardFilter
+      elementCount--;
+      ciFriendlyEnd(code, uri, localName, qName);
+    }
+  }
+
+  private void fastForwardOther() throws SAXException {
+    if (!consumer || domDepth > 0 && otherType < COMMENT) {
+      output();
+    } else {
+      ciFriendlyOther();
+    }
+  }
+
+  // -- CI friendly stage: replaces the CI friendly properties in versions
+
+  private void ciFriendlyStart(
+      int code, String uri, String localName, String qName, Attributes atts) throws SAXException {
+    if (!parseVersion && code == VERSION && isCiFriendly()) {
+      parseVersion = true;
+    }
+    modulesStart(code, uri, localName, qName, atts);
+  }
+
+  private void ciFriendlyCharacters(char[] ch, int start, int length) throws SAXException {
+    if (parseVersion) {
+      ciFriendlyProperties.append(ch, start, length);
+    } else {
+      modulesCharacters(ch, start, length);
+    }
+  }
+
+  private void ciFriendlyEnd(int code, String uri, String localName, String qName)
+      throws SAXException {
+    if (parseVersion) {
+      if (ciFriendlyProperties.hasText()) {
+        ciFriendlyProperties.replace();
+        modulesCharacters(ciFriendlyProperties.getChars(), 0, ciFriendlyProperties.getLength());
+      }
+      parseVersion = false;
+    }
+    modulesEnd(code, uri, localName, qName);
+  }
+
+  private void ciFriendlyOther() throws SAXException {
+    modulesOther();
+  }
+
+  // -- modules stage: drops the modules
+
+  private void modulesStart(int code, String uri, String localName, String qName, Attributes atts)
+      throws SAXException {
+    if (!parsingModules && code == MODULES) {
+      parsingModules = true;
+    }
+    if (!parsingModules) {
+      relativePathStart(code, uri, localName, qName, atts);
+    }
+  }
+
+  private void modulesCharacters(char[] ch, int start, int length) throws SAXException {
+    if (!parsingModules) {
+      relativePathCharacters(ch, start, length);
+    }
+  }
+
+  private void modulesEnd(int code, String uri, String localName, String qName)
+      throws SAXException {
+    if (!parsingModules) {
+      relativePathEnd(code, uri, localName, qName);
+    } else if (code == MODULES) {
+      parsingModules = false;
+    }
+  }
+
+  private void modulesOther() throws SAXException {
+    if (!parsingModules) {
+      relativePathOther();
+    }
+  }
+
+  // -- relativePath stage: drops the relativePath of the parent, with the whitespace before it
+
+  private void relativePathStart(
+      int code, String uri, String localName, String qName, Attributes atts) throws SAXException {
+    if (!parsingRelativePathParent && code == PARENT) {
+      parsingRelativePathParent = true;
+    }
+    if (parsingRelativePathParent) {
+      relativePathState = code;
+      relativePathRun.flush(this, 2);
+      if (relativePathState == RELATIVE_PATH) {
+        return;
+      }
+    }
+    super.startElement(uri, localName, qName, atts);
+  }
+
+  private void relativePathCharacters(char[] ch, int start, int length) throws SAXException {
+    if (parsingRelativePathParent) {
+      relativePathRun.append(ch, start, length);
+    } else {
+      super.characters(ch, start, length);
+    }
+  }
+
+  private void relativePathEnd(int code, String uri, String localName, String qName)
+      throws SAXException {
+    if (parsingRelativePathParent) {
+      relativePathRun.flush(this, 2);
+      if (code == PARENT) {
+        parsingRelativePathParent = false;
+        super.endElement(uri, localName, qName);
+      } else if (relativePathState != RELATIVE_PATH) {
+        super.endElement(uri, localName, qName);
+      }
+    } else {
+      super.endElement(uri, localName, qName);
+    }
+    relativePathState = PARENT;
+  }
+
+  private void relativePathOther() throws SAXException {
+    if (parsingRelativePathParent) {
+      relativePathRun.flush(this, 2);
+      if (relativePathState == RELATIVE_PATH) {
+        return;
+      }
+    }
+    output();
+  }
+
+  // -- output
+
+  private void output() throws SAXException {
+    switch (otherType) {
+      case PROCESSING_INSTRUCTION:
+        super.processingInstruction(otherName, otherValue);
+        break;
+      case IGNORABLE_WHITESPACE:
+        super.ignorableWhitespace(otherChars, otherStart, otherLength);
+        break;
+      case START_PREFIX_MAPPING:
+        super.startPrefixMapping(otherName, otherValue);
+        break;
+      case END_PREFIX_MAPPING:
+        super.endPrefixMapping(otherName);
+        break;
+      case SKIPPED_ENTITY:
+        super.skippedEntity(otherName);
+        break;
+      case COMMENT:
+        super.comment(otherChars, otherStart, otherLength);
+        break;
+      case START_CDATA:
+        super.startCDATA();
+        break;
+      case END_CDATA:
+        super.endCDATA();
+        break;
+      case START_DTD:
+        super.startDTD(otherName, otherValue, otherExtra);
+        break;
+      case END_DTD:
+        super.endDTD();
+        break;
+      case START_ENTITY:
+        super.startEntity(otherName);
+        break;
+      case END_ENTITY:
+        super.endEntity(otherName);
+        break;
+      default:
+        throw new IllegalStateException("Unknown event type " + otherType);
+    }
+  }
+
+  /** Passes the held back characters of a stage on to the stage after it. */
+  private void charactersAfter(int stage, char[] ch, int start, int length) throws SAXException {
+    switch (stage) {
+      case 0:
+        parentCharacters(ch, start, length);
+        break;
+      case 1:
+        fastForwardCharacters(ch, start, length);
+        break;
+      default:
+        if (relativePathState != RELATIVE_PATH) {
+          super.characters(ch, start, length);
+        }
+        break;
+    }
+  }
+
+  private static String append(String value, char[] ch, int start, int length) {
+    String segment = new String(ch, start, length);
+    return value == null ? segment : value + segment;
+  }
+
+  /** The characters of a stage since its last other event. */
+  private static final class CharRun {
+    private char[] chars = new char[64];
+
+    private int length;
+
+    void append(char[] ch, int start, int count) {
+      if (length + count > chars.length) {
+        chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + count));
+      }
+      System.arraycopy(ch, start, chars, length, count);
+      length += count;
+    }
+
+    void flush(FusedPomXMLFilter filter, int stage) throws SAXException {
+      if (length > 0) {
+        int count = length;
+        // the next stages may hold back characters themselves, but never of this run
+        length = 0;
+        filter.charactersAfter(stage, chars, 0, count);
+      }
+    }
+  }
+}
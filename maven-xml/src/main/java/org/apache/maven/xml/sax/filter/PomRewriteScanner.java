@@ -0,0 +1,236 @@
+package org.apache.maven.xml.sax.filter;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Scans the bytes of a POM for the elements the POM filters rewrite, without parsing it. The scan
+ * only looks at the markup of ASCII compatible encodings and errs on the safe side: whenever it
+ * meets something it can't judge, like a DTD, a malformed tag or an escaped version, it reports a
+ * possible rewrite.
+ *
+ * @since 4.0.0
+ */
+final class PomRewriteScanner {
+  private static final byte[] COMMENT_END = bytes("-->");
+
+  private static final byte[] CDATA_START = bytes("<![CDATA[");
+
+  private static final byte[] CDATA_END = bytes("]]>");
+
+  private static final byte[] PI_END = bytes("?>");
+
+  private static final byte[][] CI_FRIENDLY_PROPERTIES = {
+    bytes("${changelist}"), bytes("${revision}"), bytes("${sha1}")
+  };
+
+  private PomRewriteScanner() {}
+
+  /**
+   * Tells whether the filters may change the POM.
+   *
+   * @param pom the bytes of the POM
+   * @param dependencies whether versions of reactor dependencies are added
+   * @param parent whether the version of the parent is added
+   * @param consumer whether modules and the relativePath of the parent are removed
+   * @param ciFriendly whether CI friendly properties in versions are replaced
+   * @return {@code false} if the filters will pass every event unchanged, otherwise {@code true}
+   */
+  static boolean mayRewrite(
+      byte[] pom, boolean dependencies, boolean parent, boolean consumer, boolean ciFriendly) {
+    int i = 0;
+    if (startsWith(pom, 0, (byte) 0xEF, (byte) 0xBB, (byte) 0xBF)) {
+      i = 3;
+    }
+    // UTF-16, UTF-32 and EBCDIC don't start with '<'
+    if (i == pom.length || pom[i] != '<') {
+      return true;
+    }
+
+    boolean inDependency = false;
+    boolean dependencyHasVersion = false;
+    boolean inParent = false;
+    boolean parentHasVersion = false;
+
+    while (i < pom.length) {
+      if (pom[i] != '<') {
+        i++;
+        continue;
+      }
+
+      if (startsWith(pom, i, (byte) '<', (byte) '!', (byte) '-', (byte) '-')) {
+        i = skipPast(pom, i + 4, COMMENT_END);
+      } else if (startsWith(pom, i, CDATA_START)) {
+        i = skipPast(pom, i + CDATA_START.length, CDATA_END);
+      } else if (startsWith(pom, i, (byte) '<', (byte) '?')) {
+        i = skipPast(pom, i + 2, PI_END);
+      } else if (startsWith(pom, i, (byte) '<', (byte) '!')) {
+        // a DTD may declare entities expanding to markup
+        return true;
+      } else {
+        boolean end = startsWith(pom, i, (byte) '<', (byte) '/');
+        int nameStart = end ? i + 2 : i + 1;
+        int nameEnd = nameStart;
+        while (nameEnd < pom.length && !isNameEnd(pom[nameEnd])) {
+          nameEnd++;
+        }
+        int tagEnd = skipTag(pom, nameEnd);
+        if (tagEnd < 0 || nameEnd == nameStart) {
+          return true;
+        }
+        boolean empty = !end && pom[tagEnd - 2] == '/';
+
+        // the filters only look at the local name
+        int localStart = nameStart;
+        for (int j = nameStart; j < nameEnd; j++) {
+          if (pom[j] == ':') {
+            localStart = j + 1;
+          }
+        }
+
+        if (!end) {
+          if (is(pom, localStart, nameEnd, "dependency") && !inDependency) {
+            inDependency = true;
+            dependencyHasVersion = false;
+          } else if (is(pom, localStart, nameEnd, "parent") && !inParent) {
+            inParent = true;
+            parentHasVersion = false;
+          } else if (is(pom, localStart, nameEnd, "version")) {
+            dependencyHasVersion |= inDependency;
+            parentHasVersion |= inParent;
+            if (ciFriendly && !empty && isCiFriendly(pom, tagEnd)) {
+              return true;
+            }
+          } else if (consumer
+              && (is(pom, localStart, nameEnd, "modules")
+                  || is(pom, localStart, nameEnd, "relativePath"))) {
+            return true;
+          }
+        }
+
+        if (end || empty) {
+          if (is(pom, localStart, nameEnd, "dependency") && inDependency) {
+            if (dependencies && !dependencyHasVersion) {
+              return true;
+            }
+            inDependency = false;
+          } else if (is(pom, localStart, nameEnd, "parent") && inParent) {
+            if (parent && !parentHasVersion) {
+              return true;
+            }
+            inParent = false;
+          }
+        }
+        i = tagEnd;
+      }
+
+      if (i < 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Checks the text of a version element, which must be plain text, for CI friendly properties. */
+  private static boolean isCiFriendly(byte[] pom, int textStart) {
+    int textEnd = textStart;
+    while (textEnd < pom.length && pom[textEnd] != '<' && pom[textEnd] != '&') {
+      textEnd++;
+    }
+    // comments, CDATA sections and references may hide a property
+    if (!startsWith(pom, textEnd, (byte) '<', (byte) '/')) {
+      return true;
+    }
+    for (byte[] property : CI_FRIENDLY_PROPERTIES) {
+      if (indexOf(pom, textStart, textEnd, property) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isNameEnd(byte b) {
+    return b == '>' || b == '/' || b == ' ' || b == '\t' || b == '\r' || b == '\n';
+  }
+
+  /** @return the index after the closing '>' of the tag, or -1 if the tag isn't closed */
+  private static int skipTag(byte[] pom, int i) {
+    byte quote = 0;
+    for (; i < pom.length; i++) {
+      byte b = pom[i];
+      if (quote != 0) {
+        if (b == quote) {
+          quote = 0;
+        }
+      } else if (b == '"' || b == '\'') {
+        quote = b;
+      } else if (b == '>') {
+        return i + 1;
+      } else if (b == '<') {
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  /** @return the index after the terminator, or -1 if it is missing */
+  private static int skipPast(byte[] pom, int i, byte[] terminator) {
+    int index = indexOf(pom, i, pom.length, terminator);
+    return (index < 0) ? -1 : index + terminator.length;
+  }
+
+  private static int indexOf(byte[] pom, int start, int end, byte[] bytes) {
+    for (int i = start; i <= end - bytes.length; i++) {
+      if (startsWith(pom, i, bytes)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean is(byte[] pom, int start, int end, String name) {
+    if (end - start != name.length()) {
+      return false;
+    }
+    for (int i = start; i < end; i++) {
+      if (pom[i] != name.charAt(i - start)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean startsWith(byte[] pom, int i, byte... bytes) {
+    if (i < 0 || i + bytes.length > pom.length) {
+      return false;
+    }
+    for (int j = 0; j < bytes.length; j++) {
+      if (pom[i + j] != bytes[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.US_ASCII);
+  }
+}
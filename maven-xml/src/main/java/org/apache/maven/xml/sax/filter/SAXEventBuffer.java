@@ -0,0 +1,360 @@
+package org.apache.maven.xml.sax.filter;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Arrays;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Records SAX events to replay them later on. Instead of an object per event, events are stored as
+ * type codes in parallel arrays, character data is copied into one shared char arena and attributes
+ * into reused {@link AttributesImpl} instances. After {@link #replay(AbstractEventXMLFilter)} all
+ * storage is kept for the next batch of events.
+ *
+ * <p>Characters can be held back as pending segments, which only become events once the state they
+ * belong to is known, see {@link #flushPendingCharacters(String)}.
+ *
+ * @since 4.0.0
+ */
+final class SAXEventBuffer {
+  private static final byte SET_DOCUMENT_LOCATOR = 0;
+
+  private static final byte START_DOCUMENT = 1;
+
+  private static final byte END_DOCUMENT = 2;
+
+  private static final byte START_PREFIX_MAPPING = 3;
+
+  private static final byte END_PREFIX_MAPPING = 4;
+
+  private static final byte START_ELEMENT = 5;
+
+  private static final byte END_ELEMENT = 6;
+
+  private static final byte CHARACTERS = 7;
+
+  private static final byte IGNORABLE_WHITESPACE = 8;
+
+  private static final byte PROCESSING_INSTRUCTION = 9;
+
+  private static final byte SKIPPED_ENTITY = 10;
+
+  private static final byte START_DTD = 11;
+
+  private static final byte END_DTD = 12;
+
+  private static final byte START_ENTITY = 13;
+
+  private static final byte END_ENTITY = 14;
+
+  private static final byte START_CDATA = 15;
+
+  private static final byte END_CDATA = 16;
+
+  private static final byte COMMENT = 17;
+
+  private static final int INITIAL_EVENTS = 32;
+
+  private byte[] types = new byte[INITIAL_EVENTS];
+
+  // the state of the filter when the event was recorded, passed to acceptEvent on replay
+  private String[] states = new String[INITIAL_EVENTS];
+
+  // uri, prefix, target or name
+  private String[] firsts = new String[INITIAL_EVENTS];
+
+  // localName, uri, data or publicId
+  private String[] seconds = new String[INITIAL_EVENTS];
+
+  // qName or systemId
+  private String[] thirds = new String[INITIAL_EVENTS];
+
+  // offset and length in the arena
+  private int[] offsets = new int[INITIAL_EVENTS];
+
+  private int[] lengths = new int[INITIAL_EVENTS];
+
+  // null entries stand for null attributes, the instances are reused for later events
+  private AttributesImpl[] attributes = new AttributesImpl[INITIAL_EVENTS];
+
+  private boolean[] hasAttributes = new boolean[INITIAL_EVENTS];
+
+  private Locator locator;
+
+  private int size;
+
+  private char[] arena = new char[1024];
+
+  private int arenaSize;
+
+  private int[] pendingOffsets = new int[8];
+
+  private int[] pendingLengths = new int[8];
+
+  private int pendingSize;
+
+  void setDocumentLocator(String state, Locator locator) {
+    this.locator = locator;
+    add(SET_DOCUMENT_LOCATOR, state, null, null, null);
+  }
+
+  void startDocument(String state) {
+    add(START_DOCUMENT, state, null, null, null);
+  }
+
+  void endDocument(String state) {
+    add(END_DOCUMENT, state, null, null, null);
+  }
+
+  void startPrefixMapping(String state, String prefix, String uri) {
+    add(START_PREFIX_MAPPING, state, prefix, uri, null);
+  }
+
+  void endPrefixMapping(String state, String prefix) {
+    add(END_PREFIX_MAPPING, state, prefix, null, null);
+  }
+
+  void startElement(String state, String uri, String localName, String qName, Attributes atts) {
+    int index = add(START_ELEMENT, state, uri, localName, qName);
+    if (atts != null) {
+      if (attributes[index] == null) {
+        attributes[index] = new AttributesImpl(atts);
+      } else {
+        attributes[index].setAttributes(atts);
+      }
+      hasAttributes[index] = true;
+    }
+  }
+
+  void endElement(String state, String uri, String localName, String qName) {
+    add(END_ELEMENT, state, uri, localName, qName);
+  }
+
+  void characters(String state, char[] ch, int start, int length) {
+    addText(CHARACTERS, state, ch, start, length);
+  }
+
+  void ignorableWhitespace(String state, char[] ch, int start, int length) {
+    addText(IGNORABLE_WHITESPACE, state, ch, start, length);
+  }
+
+  void processingInstruction(String state, String target, String data) {
+    add(PROCESSING_INSTRUCTION, state, target, data, null);
+  }
+
+  void skippedEntity(String state, String name) {
+    add(SKIPPED_ENTITY, state, name, null, null);
+  }
+
+  void startDTD(String state, String name, String publicId, String systemId) {
+    add(START_DTD, state, name, publicId, systemId);
+  }
+
+  void endDTD(String state) {
+    add(END_DTD, state, null, null, null);
+  }
+
+  void startEntity(String state, String name) {
+    add(START_ENTITY, state, name, null, null);
+  }
+
+  void endEntity(String state, String name) {
+    add(END_ENTITY, state, name, null, null);
+  }
+
+  void startCDATA(String state) {
+    add(START_CDATA, state, null, null, null);
+  }
+
+  void endCDATA(String state) {
+    add(END_CDATA, state, null, null, null);
+  }
+
+  void comment(String state, char[] ch, int start, int length) {
+    addText(COMMENT, state, ch, start, length);
+  }
+
+  /** Holds back characters whose state is not known yet. */
+  void addPendingCharacters(char[] ch, int start, int length) {
+    if (pendingSize == pendingOffsets.length) {
+      pendingOffsets = Arrays.copyOf(pendingOffsets, pendingSize * 2);
+      pendingLengths = Arrays.copyOf(pendingLengths, pendingSize * 2);
+    }
+    pendingOffsets[pendingSize] = copyToArena(ch, start, length);
+    pendingLengths[pendingSize] = length;
+    pendingSize++;
+  }
+
+  /** Turns the pending characters into character events of the specified state. */
+  void flushPendingCharacters(String state) {
+    for (int i = 0; i < pendingSize; i++) {
+      int index = add(CHARACTERS, state, null, null, null);
+      offsets[index] = pendingOffsets[i];
+      lengths[index] = pendingLengths[i];
+    }
+    pendingSize = 0;
+  }
+
+  /**
+   * Sends the recorded events accepted by the filter to its handlers, in recording order, and
+   * clears the buffer. Pending characters are not replayed and must be flushed before.
+   */
+  void replay(AbstractEventXMLFilter filter) throws SAXException {
+    try {
+      for (int i = 0; i < size; i++) {
+        if (filter.acceptEvent(states[i])) {
+          replay(i, filter.getContentHandler(), filter.getLexicalHandler());
+        }
+      }
+    } finally {
+      clear();
+    }
+  }
+
+  private void replay(int i, ContentHandler contentHandler, LexicalHandler lexicalHandler)
+      throws SAXException {
+    switch (types[i]) {
+      case SET_DOCUMENT_LOCATOR:
+        contentHandler.setDocumentLocator(locator);
+        break;
+      case START_DOCUMENT:
+        contentHandler.startDocument();
+        break;
+      case END_DOCUMENT:
+        contentHandler.endDocument();
+        break;
+      case START_PREFIX_MAPPING:
+        contentHandler.startPrefixMapping(firsts[i], seconds[i]);
+        break;
+      case END_PREFIX_MAPPING:
+        contentHandler.endPrefixMapping(firsts[i]);
+        break;
+      case START_ELEMENT:
+        contentHandler.startElement(
+            firsts[i], seconds[i], thirds[i], hasAttributes[i] ? attributes[i] : null);
+        break;
+      case END_ELEMENT:
+        contentHandler.endElement(firsts[i], seconds[i], thirds[i]);
+        break;
+      case CHARACTERS:
+        contentHandler.characters(arena, offsets[i], lengths[i]);
+        break;
+      case IGNORABLE_WHITESPACE:
+        contentHandler.ignorableWhitespace(arena, offsets[i], lengths[i]);
+        break;
+      case PROCESSING_INSTRUCTION:
+        contentHandler.processingInstruction(firsts[i], seconds[i]);
+        break;
+      case SKIPPED_ENTITY:
+        contentHandler.skippedEntity(firsts[i]);
+        break;
+      case START_DTD:
+        lexicalHandler.startDTD(firsts[i], seconds[i], thirds[i]);
+        break;
+      case END_DTD:
+        lexicalHandler.endDTD();
+        break;
+      case START_ENTITY:
+        lexicalHandler.startEntity(firsts[i]);
+        break;
+      case END_ENTITY:
+        lexicalHandler.endEntity(firsts[i]);
+        break;
+      case START_CDATA:
+        lexicalHandler.startCDATA();
+        break;
+      case END_CDATA:
+        lexicalHandler.endCDATA();
+        break;
+      case COMMENT:
+        lexicalHandler.comment(arena, offsets[i], lengths[i]);
+        break;
+      default:
+        throw new IllegalStateException("Unknown event type " + types[i]);
+    }
+  }
+
+  private void clear() {
+    Arrays.fill(states, 0, size, null);
+    Arrays.fill(firsts, 0, size, null);
+    Arrays.fill(seconds, 0, size, null);
+    Arrays.fill(thirds, 0, size, null);
+    for (int i = 0; i < size; i++) {
+      if (hasAttributes[i]) {
+        attributes[i].clear();
+        hasAttributes[i] = false;
+      }
+    }
+    locator = null;
+    size = 0;
+    if (pendingSize == 0) {
+      arenaSize = 0;
+    }
+  }
+
+  private int addText(byte type, String state, char[] ch, int start, int length) {
+    int offset = copyToArena(ch, start, length);
+    int index = add(type, state, null, null, null);
+    offsets[index] = offset;
+    lengths[index] = length;
+    return index;
+  }
+
+  private int add(byte type, String state, String first, String second, String third) {
+    if (size == types.length) {
+      grow();
+    }
+    int index = size++;
+    types[index] = type;
+    states[index] = state;
+    firsts[index] = first;
+    seconds[index] = second;
+    thirds[index] = third;
+    return index;
+  }
+
+  private void grow() {
+    int capacity = types.length * 2;
+    types = Arrays.copyOf(types, capacity);
+    states = Arrays.copyOf(states, capacity);
+    firsts = Arrays.copyOf(firsts, capacity);
+    seconds = Arrays.copyOf(seconds, capacity);
+    thirds = Arrays.copyOf(thirds, capacity);
+    offsets = Arrays.copyOf(offsets, capacity);
+    lengths = Arrays.copyOf(lengths, capacity);
+    attributes = Arrays.copyOf(attributes, capacity);
+    hasAttributes = Arrays.copyOf(hasAttributes, capacity);
+  }
+
+  private int copyToArena(char[] ch, int start, int length) {
+    if (arenaSize + length > arena.length) {
+      arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+    }
+    System.arraycopy(ch, start, arena, arenaSize, length);
+    int offset = arenaSize;
+    arenaSize += length;
+    return offset;
+  }
+}